@@ -0,0 +1,193 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.jcabi.email.enclosure.EnBinary;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.enclosure.EnReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.activation.DataHandler;
+import javax.activation.FileDataSource;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding of enclosures: {@link EnBinary} in base64 and
+ * {@link EnPlain} and {@link EnReader} in quoted-printable, next to
+ * parts of JavaMail with the same content and encoding.
+ *
+ * <p>The file of {@link EnBinary} has random bytes, the text of
+ * {@link EnPlain} is mostly ASCII, with some Cyrillic letters and
+ * trailing spaces, in lines of different length.
+ *
+ * <p>{@link #binary()} encodes with our own base64 encoder and
+ * {@link #binaryJavaMail()} with {@code BASE64EncoderStream} of
+ * JavaMail; {@link #reader()} encodes with our own quoted-printable
+ * encoder and {@link #readerJavaMail()} with {@code QPEncoderStream}.
+ * {@link #plain()} is what JavaMail does with a text by default.
+ *
+ * @since 2.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@State(Scope.Benchmark)
+public class EnclosureBench {
+
+    /**
+     * Size of the content, in bytes.
+     */
+    @Param({ "1024", "1048576", "16777216" })
+    public int size;
+
+    /**
+     * File with binary content.
+     */
+    private File file;
+
+    /**
+     * Text content.
+     */
+    private String text;
+
+    /**
+     * Make the file and the text.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(this.size);
+        final byte[] bytes = new byte[this.size];
+        random.nextBytes(bytes);
+        final Path path = Files.createTempFile("jcabi-email", ".bin");
+        Files.write(path, bytes);
+        this.file = path.toFile();
+        final StringBuilder txt = new StringBuilder(this.size);
+        while (txt.length() < this.size) {
+            txt.append("Line ").append(txt.length())
+                .append(" of the report, цифры за квартал ");
+            for (int idx = random.nextInt(60); idx > 0; --idx) {
+                txt.append('x');
+            }
+            txt.append("  \n");
+        }
+        txt.setLength(this.size);
+        this.text = txt.toString();
+    }
+
+    /**
+     * Delete the file.
+     * @throws IOException If fails
+     */
+    @TearDown
+    public void teardown() throws IOException {
+        Files.delete(this.file.toPath());
+    }
+
+    /**
+     * Encode the file.
+     * @return Bytes encoded
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public long binary() throws IOException, MessagingException {
+        final CountingOutputStream out = new CountingOutputStream(
+            ByteStreams.nullOutputStream()
+        );
+        new EnBinary(this.file, "report.bin", "application/octet-stream")
+            .part().writeTo(out);
+        return out.getCount();
+    }
+
+    /**
+     * Encode the file, by JavaMail.
+     * @return Bytes encoded
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public long binaryJavaMail() throws IOException, MessagingException {
+        final CountingOutputStream out = new CountingOutputStream(
+            ByteStreams.nullOutputStream()
+        );
+        final MimeBodyPart part = new MimeBodyPart();
+        part.setDataHandler(new DataHandler(new FileDataSource(this.file)));
+        part.setHeader("Content-Type", "application/octet-stream");
+        part.setHeader("Content-Transfer-Encoding", "base64");
+        part.writeTo(out);
+        return out.getCount();
+    }
+
+    /**
+     * Encode the text.
+     * @return Bytes encoded
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public long plain() throws IOException, MessagingException {
+        final CountingOutputStream out = new CountingOutputStream(
+            ByteStreams.nullOutputStream()
+        );
+        new EnPlain(this.text).part().writeTo(out);
+        return out.getCount();
+    }
+
+    /**
+     * Encode the text, read from a reader.
+     * @return Bytes encoded
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public long reader() throws IOException, MessagingException {
+        final CountingOutputStream out = new CountingOutputStream(
+            ByteStreams.nullOutputStream()
+        );
+        new EnReader(() -> new StringReader(this.text)).part().writeTo(out);
+        return out.getCount();
+    }
+
+    /**
+     * Encode the text, by JavaMail.
+     * @return Bytes encoded
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public long readerJavaMail() throws IOException, MessagingException {
+        final CountingOutputStream out = new CountingOutputStream(
+            ByteStreams.nullOutputStream()
+        );
+        final MimeBodyPart part = new MimeBodyPart();
+        part.setText(this.text, "UTF-8");
+        part.setHeader("Content-Transfer-Encoding", "quoted-printable");
+        part.writeTo(out);
+        return out.getCount();
+    }
+}
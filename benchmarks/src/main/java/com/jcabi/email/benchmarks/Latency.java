@@ -0,0 +1,162 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency of sends, by phase, in HDR histograms of microseconds.
+ *
+ * <p>Every send has three phases: {@code waiting}, from the time it
+ * was planned to start to the time it did start, when a sender was
+ * free; {@code service}, from then to the end; and {@code response},
+ * from the time it was planned to start to the end. The last one is
+ * what a client sees: it isn't affected by coordinated omission, since
+ * sends that start late, because others are slow, are measured from
+ * the time they should have started.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+public final class Latency {
+
+    /**
+     * Percentiles to report.
+     */
+    private static final double[] PERCENTILES = {
+        50.0, 90.0, 99.0, 99.9, 99.99,
+    };
+
+    /**
+     * Waiting for a sender.
+     */
+    private final Histogram waiting;
+
+    /**
+     * Sending.
+     */
+    private final Histogram service;
+
+    /**
+     * From the planned start to the end.
+     */
+    private final Histogram response;
+
+    /**
+     * Failures, by type of exception.
+     */
+    private final Map<String, LongAdder> errors;
+
+    /**
+     * Ctor.
+     */
+    public Latency() {
+        this.waiting = new ConcurrentHistogram(3);
+        this.service = new ConcurrentHistogram(3);
+        this.response = new ConcurrentHistogram(3);
+        this.errors = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Record a send.
+     * @param planned When it was planned to start, in nanoseconds
+     * @param start When it started
+     * @param end When it ended
+     * @param error Its failure, or NULL
+     */
+    public void record(final long planned, final long start, final long end,
+        final Throwable error) {
+        this.waiting.recordValue(Latency.micros(start - planned));
+        this.service.recordValue(Latency.micros(end - start));
+        this.response.recordValue(Latency.micros(end - planned));
+        if (error != null) {
+            this.errors.computeIfAbsent(
+                error.getClass().getSimpleName(), key -> new LongAdder()
+            ).increment();
+        }
+    }
+
+    /**
+     * Number of sends recorded.
+     * @return Count
+     */
+    public long count() {
+        return this.response.getTotalCount();
+    }
+
+    /**
+     * Number of failed sends.
+     * @return Count
+     */
+    public long failures() {
+        return this.errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Print the distribution of response time, in milliseconds.
+     * @param out Where to print
+     */
+    public void print(final PrintStream out) {
+        this.response.outputPercentileDistribution(out, 5, 1000.0);
+    }
+
+    /**
+     * Phases and failures, in JSON.
+     * @return JSON object
+     */
+    public String json() {
+        final StringBuilder json = new StringBuilder(512)
+            .append("{\"waiting\":").append(Latency.json(this.waiting))
+            .append(",\"service\":").append(Latency.json(this.service))
+            .append(",\"response\":").append(Latency.json(this.response))
+            .append(",\"errors\":{");
+        String sep = "";
+        for (final Map.Entry<String, LongAdder> ent : this.errors.entrySet()) {
+            json.append(sep).append('"').append(ent.getKey()).append("\":")
+                .append(ent.getValue().sum());
+            sep = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Histogram in JSON, in microseconds.
+     * @param hist The histogram
+     * @return JSON object
+     */
+    private static String json(final Histogram hist) {
+        final StringBuilder json = new StringBuilder(256)
+            .append("{\"count\":").append(hist.getTotalCount())
+            .append(",\"mean\":")
+            .append(String.format(Locale.ENGLISH, "%.1f", hist.getMean()))
+            .append(",\"max\":").append(hist.getMaxValue())
+            .append(",\"percentiles\":{");
+        String sep = "";
+        for (final double pct : Latency.PERCENTILES) {
+            json.append(sep).append('"')
+                .append(String.format(Locale.ENGLISH, "p%s", pct))
+                .append("\":").append(hist.getValueAtPercentile(pct));
+            sep = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Nanoseconds to microseconds, never negative.
+     * @param nanos Nanoseconds
+     * @return Microseconds
+     */
+    private static long micros(final long nanos) {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import com.google.common.io.Closer;
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.Protocol;
+import com.jcabi.email.Token;
+import com.jcabi.email.Wire;
+import com.jcabi.email.postman.Bucket;
+import com.jcabi.email.postman.PostAsync;
+import com.jcabi.email.postman.PostThrottled;
+import com.jcabi.email.wire.Pipelined;
+import com.jcabi.email.wire.Pooled;
+import com.jcabi.email.wire.Smtp;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import javax.mail.Session;
+
+/**
+ * Sustained load on a postman, sending to GreenMail in the same JVM.
+ *
+ * <p>Envelopes arrive at a fixed rate, open loop: the time each one is
+ * planned to start doesn't depend on how fast others are sent, just
+ * like with real clients. Senders take them from an unbounded queue, so
+ * when they can't keep up, the queue grows and so does the latency,
+ * which is measured from the planned start, see {@link Latency}. Sends
+ * of the warmup aren't recorded. At the end, the distribution of
+ * response time is printed and all results are written in JSON:
+ *
+ * <pre> java -cp target/benchmarks.jar com.jcabi.email.benchmarks.Load \
+ *   --rate=200 --threads=16 --duration=60 --warmup=10 \
+ *   --wire=pipelined --pool=8 --postman=default \
+ *   --mix=plain:8,attachment:2 --out=pipelined.json</pre>
+ *
+ * <p>Options, all optional:
+ * {@code --rate}, envelopes per second, 100 by default;
+ * {@code --threads}, senders, 8 by default;
+ * {@code --duration} and {@code --warmup}, in seconds, 30 and 5;
+ * {@code --mix}, kinds of envelopes, see {@link Mix};
+ * {@code --wire}, {@code smtp} or {@code pipelined};
+ * {@code --pool}, transports in {@link Pooled}, or zero not to pool;
+ * {@code --postman}, {@code default}, {@code async} for
+ * {@link PostAsync} with as many envelopes in flight as there are
+ * senders, or {@code throttled} for {@link PostThrottled};
+ * {@code --limit}, envelopes per second of {@code throttled};
+ * {@code --out}, file to write results to, {@code load.json}.
+ *
+ * <p>With {@code async}, senders only hand envelopes over, so its
+ * waiting time in the queue is part of the service phase.
+ *
+ * @since 2.0
+ */
+public final class Load {
+
+    /**
+     * Options, by name.
+     */
+    private final Map<String, String> options;
+
+    /**
+     * Envelopes planned so far.
+     */
+    private final AtomicLong planned;
+
+    /**
+     * Envelopes sent or failed so far.
+     */
+    private final AtomicLong finished;
+
+    /**
+     * Ctor.
+     * @param opts Options, by name
+     */
+    public Load(final Map<String, String> opts) {
+        this.options = opts;
+        this.planned = new AtomicLong();
+        this.finished = new AtomicLong();
+    }
+
+    /**
+     * Run it.
+     * @param args Options, like "--rate=200"
+     * @throws Exception If fails
+     */
+    public static void main(final String... args) throws Exception {
+        final Map<String, String> opts = new HashMap<>(0);
+        for (final String arg : args) {
+            final String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Option \"%s\" must be like --name=value", arg
+                    )
+                );
+            }
+            opts.put(parts[0], parts[1]);
+        }
+        new Load(opts).run();
+    }
+
+    /**
+     * Start the server, put the load on it and write the results.
+     * @throws IOException If fails
+     * @throws InterruptedException If interrupted
+     */
+    public void run() throws IOException, InterruptedException {
+        final ServerSetup setup = new ServerSetup(
+            Load.port(), "localhost", ServerSetup.PROTOCOL_SMTP
+        );
+        setup.setServerStartupTimeout(3000L);
+        final GreenMail server = new GreenMail(setup);
+        server.start();
+        server.setUser("jeff@example.com", "user", "password");
+        final ScheduledExecutorService purger =
+            Executors.newSingleThreadScheduledExecutor();
+        purger.scheduleWithFixedDelay(
+            () -> Load.purge(server), 1L, 1L, TimeUnit.SECONDS
+        );
+        final Path dir = Files.createTempDirectory("jcabi-email-load");
+        final Closer closer = Closer.create();
+        try {
+            final Session session = new Token("user", "password").access(
+                new Protocol.Smtp(
+                    server.getSmtp().getBindTo(), server.getSmtp().getPort()
+                )
+            );
+            final Latency latency = new Latency();
+            final long start = System.nanoTime();
+            this.drive(
+                this.postman(this.wire(session, closer), closer),
+                new Mix(this.option("mix", "plain:8,html:1,attachment:1"), dir),
+                latency
+            );
+            final double seconds = (double) (System.nanoTime() - start) / 1e9;
+            latency.print(System.out);
+            final String json = this.json(latency, seconds);
+            Files.write(
+                Paths.get(this.option("out", "load.json")),
+                json.getBytes(StandardCharsets.UTF_8)
+            );
+            System.out.println(json);
+        } finally {
+            closer.close();
+            purger.shutdownNow();
+            server.stop();
+            Load.delete(dir);
+        }
+    }
+
+    /**
+     * Plan envelopes at the rate and send them all.
+     * @param postman Postman to send with
+     * @param mix Envelopes to send
+     * @param latency Latency to record
+     * @throws InterruptedException If interrupted
+     */
+    private void drive(final Postman postman, final Mix mix,
+        final Latency latency) throws InterruptedException {
+        final ExecutorService senders = Executors.newFixedThreadPool(
+            this.number("threads", 8)
+        );
+        final long period = (long) (1e9 / (double) this.number("rate", 100));
+        final long begin = System.nanoTime();
+        final long measured = begin
+            + TimeUnit.SECONDS.toNanos(this.number("warmup", 5));
+        final long end = measured
+            + TimeUnit.SECONDS.toNanos(this.number("duration", 30));
+        try {
+            for (long plan = begin; plan < end; plan += period) {
+                final long wait = plan - System.nanoTime();
+                if (wait > 0L) {
+                    LockSupport.parkNanos(wait);
+                }
+                final long when = plan;
+                final Envelope env = mix.next();
+                this.planned.incrementAndGet();
+                if (postman instanceof PostAsync) {
+                    this.deliver(
+                        (PostAsync) postman, env, when, measured, latency
+                    );
+                } else {
+                    senders.execute(
+                        () -> this.send(postman, env, when, measured, latency)
+                    );
+                }
+            }
+        } finally {
+            senders.shutdown();
+            senders.awaitTermination(1L, TimeUnit.MINUTES);
+        }
+        final long limit = System.nanoTime() + TimeUnit.MINUTES.toNanos(1L);
+        while (this.finished.get() < this.planned.get()
+            && System.nanoTime() < limit) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+    }
+
+    /**
+     * Send an envelope now, in this thread.
+     * @param postman Postman
+     * @param env Envelope
+     * @param when When it was planned to start
+     * @param measured When the warmup ends
+     * @param latency Latency to record
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private void send(final Postman postman, final Envelope env,
+        final long when, final long measured, final Latency latency) {
+        final long start = System.nanoTime();
+        IOException error = null;
+        try {
+            postman.send(env);
+        } catch (final IOException ex) {
+            error = ex;
+        }
+        if (when >= measured) {
+            latency.record(when, start, System.nanoTime(), error);
+        }
+        this.finished.incrementAndGet();
+    }
+
+    /**
+     * Hand an envelope over to the asynchronous postman.
+     * @param postman Postman
+     * @param env Envelope
+     * @param when When it was planned to start
+     * @param measured When the warmup ends
+     * @param latency Latency to record
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private void deliver(final PostAsync postman, final Envelope env,
+        final long when, final long measured, final Latency latency) {
+        final long start = System.nanoTime();
+        postman.deliver(env).whenComplete(
+            (delivery, failure) -> {
+                Throwable error = failure;
+                if (error == null && !delivery.delivered()) {
+                    try {
+                        delivery.verify();
+                    } catch (final IOException ex) {
+                        error = ex;
+                    }
+                }
+                if (when >= measured) {
+                    latency.record(when, start, System.nanoTime(), error);
+                }
+                this.finished.incrementAndGet();
+            }
+        );
+    }
+
+    /**
+     * Make the wire.
+     * @param session Session of the server
+     * @param closer Where to register what must be closed
+     * @return Wire
+     */
+    private Wire wire(final Session session, final Closer closer) {
+        final String name = this.option("wire", "smtp");
+        Wire wire;
+        if ("smtp".equals(name)) {
+            wire = new Smtp(session);
+        } else if ("pipelined".equals(name)) {
+            wire = new Pipelined(session);
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unknown wire \"%s\"", name)
+            );
+        }
+        final int pool = this.number("pool", 0);
+        if (pool > 0) {
+            wire = closer.register(new Pooled(wire, pool, 60_000L));
+        }
+        return wire;
+    }
+
+    /**
+     * Make the postman.
+     * @param wire Wire
+     * @param closer Where to register what must be closed
+     * @return Postman
+     */
+    private Postman postman(final Wire wire, final Closer closer) {
+        final String name = this.option("postman", "default");
+        final Postman postman;
+        if ("default".equals(name)) {
+            postman = new Postman.Default(wire);
+        } else if ("async".equals(name)) {
+            postman = closer.register(
+                new PostAsync(
+                    new Postman.Default(wire), this.number("threads", 8)
+                )
+            );
+        } else if ("throttled".equals(name)) {
+            final int limit = this.number("limit", this.number("rate", 100));
+            postman = new PostThrottled(
+                new Postman.Default(wire), 1000L, new Bucket(limit, limit)
+            );
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unknown postman \"%s\"", name)
+            );
+        }
+        return postman;
+    }
+
+    /**
+     * Options and results, in JSON.
+     * @param latency Latency recorded
+     * @param seconds Seconds of the whole run, till the last send ended
+     * @return JSON object
+     */
+    private String json(final Latency latency, final double seconds) {
+        final StringBuilder json = new StringBuilder(1024).append('{');
+        for (final Map.Entry<String, String> ent : this.options.entrySet()) {
+            json.append('"').append(ent.getKey()).append("\":\"")
+                .append(ent.getValue()).append("\",");
+        }
+        final double busy = seconds - (double) this.number("warmup", 5);
+        return json
+            .append("\"planned\":").append(this.planned.get())
+            .append(",\"finished\":").append(this.finished.get())
+            .append(",\"measured\":").append(latency.count())
+            .append(",\"failed\":").append(latency.failures())
+            .append(",\"throughput\":")
+            .append(
+                String.format(
+                    Locale.ENGLISH, "%.1f",
+                    (double) latency.count() / busy
+                )
+            )
+            .append(",\"seconds\":")
+            .append(String.format(Locale.ENGLISH, "%.1f", seconds))
+            .append(",\"latency\":").append(latency.json())
+            .append('}')
+            .toString();
+    }
+
+    /**
+     * Get the option.
+     * @param name Name
+     * @param def Default value
+     * @return Value
+     */
+    private String option(final String name, final String def) {
+        return this.options.getOrDefault(name, def);
+    }
+
+    /**
+     * Get the option, as a number.
+     * @param name Name
+     * @param def Default value
+     * @return Value
+     */
+    private int number(final String name, final int def) {
+        return Integer.parseInt(this.option(name, Integer.toString(def)));
+    }
+
+    /**
+     * Drop messages received, to keep the heap of the server small.
+     * @param server The server
+     */
+    private static void purge(final GreenMail server) {
+        try {
+            server.purgeEmailFromAllMailboxes();
+        } catch (final FolderException ex) {
+            System.err.printf("failed to purge: %s%n", ex.getMessage());
+        }
+    }
+
+    /**
+     * Delete the directory with files in it.
+     * @param dir The directory
+     * @throws IOException If fails
+     */
+    private static void delete(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Allocate free port.
+     * @return Found port
+     * @throws IOException In case of error
+     */
+    private static int port() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
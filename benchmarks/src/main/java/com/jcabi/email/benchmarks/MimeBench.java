@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.enclosure.EnHtml;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building, unwrapping and rendering of {@link Envelope.Mime}.
+ *
+ * <p>The envelope has a sender, a subject, a number of recipients and
+ * a number of small text enclosures, plain and HTML in turn.
+ *
+ * @since 2.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MimeBench {
+
+    /**
+     * Number of recipients.
+     */
+    @Param({ "1", "10", "50" })
+    public int recipients;
+
+    /**
+     * Number of enclosures.
+     */
+    @Param({ "1", "5", "20" })
+    public int enclosures;
+
+    /**
+     * Envelope built.
+     */
+    private Envelope envelope;
+
+    /**
+     * Build the envelope.
+     */
+    @Setup
+    public void setup() {
+        this.envelope = this.build();
+    }
+
+    /**
+     * Build the envelope with {@code with()} chains.
+     * @return Envelope
+     */
+    @Benchmark
+    public Envelope with() {
+        return this.build();
+    }
+
+    /**
+     * Unwrap the envelope into a message.
+     * @return Message
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public Message unwrap() throws IOException {
+        return this.envelope.unwrap();
+    }
+
+    /**
+     * Unwrap the envelope and render the message, as it's sent.
+     * @return Bytes rendered
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public long render() throws IOException, MessagingException {
+        final CountingOutputStream out = new CountingOutputStream(
+            ByteStreams.nullOutputStream()
+        );
+        this.envelope.unwrap().writeTo(out);
+        return out.getCount();
+    }
+
+    /**
+     * Build the envelope.
+     * @return Envelope
+     */
+    private Envelope build() {
+        Envelope.Mime env = new Envelope.Mime()
+            .with(new StSender("Jeff Lebowski <jeff@example.com>"))
+            .with(new StSubject("Quarterly report, please review"));
+        for (int idx = 0; idx < this.recipients; ++idx) {
+            env = env.with(
+                new StRecipient(String.format("walter-%d@example.com", idx))
+            );
+        }
+        for (int idx = 0; idx < this.enclosures; ++idx) {
+            if (idx % 2 == 0) {
+                env = env.with(
+                    new EnPlain(String.format("Part #%d of the report", idx))
+                );
+            } else {
+                env = env.with(
+                    new EnHtml(
+                        String.format("<p>Part <b>#%d</b> of it</p>", idx)
+                    )
+                );
+            }
+        }
+        return env;
+    }
+}
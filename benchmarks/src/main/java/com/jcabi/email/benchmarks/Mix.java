@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.enclosure.EnBinary;
+import com.jcabi.email.enclosure.EnHtml;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mix of envelopes to send, of different kinds, in given proportions.
+ *
+ * <p>The mix is given as kinds with their weights, like
+ * {@code "plain:8,html:1,attachment:1"}. Kinds are:
+ * {@code plain}, a short text; {@code html}, a text with its HTML
+ * version; {@code attachment}, a text with a binary file of 256Kb;
+ * {@code bulk}, a short text to 20 recipients.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+public final class Mix {
+
+    /**
+     * Envelopes, each as many times as its weight.
+     */
+    private final List<Envelope> envelopes;
+
+    /**
+     * Ctor.
+     * @param spec Kinds with weights, like "plain:8,attachment:2"
+     * @param dir Directory for files of attachments
+     * @throws IOException If fails
+     */
+    public Mix(final String spec, final Path dir) throws IOException {
+        this.envelopes = new ArrayList<>(0);
+        for (final String item : spec.split(",")) {
+            final String[] parts = item.trim().split(":");
+            final int weight;
+            if (parts.length > 1) {
+                weight = Integer.parseInt(parts[1]);
+            } else {
+                weight = 1;
+            }
+            final Envelope env = Mix.envelope(parts[0], dir);
+            for (int idx = 0; idx < weight; ++idx) {
+                this.envelopes.add(env);
+            }
+        }
+        if (this.envelopes.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("Mix \"%s\" has no envelopes", spec)
+            );
+        }
+    }
+
+    /**
+     * Pick the next envelope, at random.
+     * @return Envelope
+     */
+    public Envelope next() {
+        return this.envelopes.get(
+            ThreadLocalRandom.current().nextInt(this.envelopes.size())
+        );
+    }
+
+    /**
+     * Make an envelope of this kind.
+     * @param kind The kind
+     * @param dir Directory for files of attachments
+     * @return Envelope
+     * @throws IOException If fails
+     */
+    private static Envelope envelope(final String kind, final Path dir)
+        throws IOException {
+        Envelope.Mime env = new Envelope.Mime()
+            .with(new StSender("Jeff Lebowski <jeff@example.com>"))
+            .with(new StRecipient("Walter <walter@example.com>"))
+            .with(new StSubject(String.format("Load test: %s", kind)))
+            .with(new EnPlain("Hi, this is a message of the load test"));
+        if ("html".equals(kind)) {
+            env = env.with(new EnHtml("<p>Hi, this is <b>a message</b></p>"));
+        } else if ("attachment".equals(kind)) {
+            final byte[] bytes = new byte[256 * 1024];
+            new Random(0L).nextBytes(bytes);
+            final Path file = Files.write(
+                Files.createTempFile(dir, "attachment", ".bin"), bytes
+            );
+            env = env.with(
+                new EnBinary(
+                    file.toFile(), "attachment.bin", "application/octet-stream"
+                )
+            );
+        } else if ("bulk".equals(kind)) {
+            for (int idx = 0; idx < 20; ++idx) {
+                env = env.with(
+                    new StRecipient(String.format("donny-%d@example.com", idx))
+                );
+            }
+        } else if (!"plain".equals(kind)) {
+            throw new IllegalArgumentException(
+                String.format("Unknown kind of envelope \"%s\"", kind)
+            );
+        }
+        return env;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.Protocol;
+import com.jcabi.email.Token;
+import com.jcabi.email.enclosure.EnHtml;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.postman.PostNoDrafts;
+import com.jcabi.email.postman.PostNoLoops;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import com.jcabi.email.wire.Smtp;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sending with {@link Postman.Default} to GreenMail, in the same JVM.
+ *
+ * <p>Besides time, it counts unwraps of the envelope, reported as
+ * the {@code unwraps} secondary result, a total of each run. With the
+ * number of sends in the same run, it shows how many times the message
+ * is built per send, directly and through {@link PostNoLoops} and
+ * {@link PostNoDrafts}.
+ *
+ * @since 2.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SendBench {
+
+    /**
+     * The server.
+     */
+    private GreenMail server;
+
+    /**
+     * Postman sending to it.
+     */
+    private Postman postman;
+
+    /**
+     * The same postman, behind decorators.
+     */
+    private Postman decorated;
+
+    /**
+     * Envelope to send.
+     */
+    private Envelope envelope;
+
+    /**
+     * Start the server.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        final ServerSetup setup = new ServerSetup(
+            SendBench.port(), "localhost", ServerSetup.PROTOCOL_SMTP
+        );
+        setup.setServerStartupTimeout(3000L);
+        this.server = new GreenMail(setup);
+        this.server.start();
+        this.server.setUser("jeff@example.com", "user", "password");
+        this.postman = new Postman.Default(
+            new Smtp(
+                new Token("user", "password").access(
+                    new Protocol.Smtp(
+                        this.server.getSmtp().getBindTo(),
+                        this.server.getSmtp().getPort()
+                    )
+                )
+            )
+        );
+        this.decorated = new PostNoLoops(new PostNoDrafts(this.postman));
+        this.envelope = new Envelope.Mime()
+            .with(new StSender("Jeff Lebowski <jeff@example.com>"))
+            .with(new StRecipient("Walter <walter@example.com>"))
+            .with(new StSubject("Quarterly report, please review"))
+            .with(new EnPlain("Hi, the report is below"))
+            .with(new EnHtml("<p>The report <b>is here</b></p>"));
+    }
+
+    /**
+     * Drop messages received, to keep the heap of the server small.
+     * @throws FolderException If fails
+     */
+    @TearDown(Level.Iteration)
+    public void purge() throws FolderException {
+        this.server.purgeEmailFromAllMailboxes();
+    }
+
+    /**
+     * Stop the server.
+     */
+    @TearDown
+    public void teardown() {
+        this.server.stop();
+    }
+
+    /**
+     * Send the envelope.
+     * @param counters Counters
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public void send(final SendBench.Unwraps counters) throws IOException {
+        this.postman.send(counters.counted(this.envelope));
+    }
+
+    /**
+     * Send the envelope through decorators.
+     * @param counters Counters
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public void decorated(final SendBench.Unwraps counters)
+        throws IOException {
+        this.decorated.send(counters.counted(this.envelope));
+    }
+
+    /**
+     * Allocate free port.
+     * @return Found port
+     * @throws IOException In case of error
+     */
+    private static int port() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Counters of unwraps.
+     * @since 2.0
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Unwraps {
+
+        /**
+         * Unwraps of the envelope.
+         */
+        public long unwraps;
+
+        /**
+         * Reset the counter.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.unwraps = 0L;
+        }
+
+        /**
+         * Envelope that counts its unwraps; not public, since JMH takes
+         * public methods for counters.
+         * @param env Envelope
+         * @return Envelope
+         */
+        Envelope counted(final Envelope env) {
+            return () -> {
+                ++this.unwraps;
+                return env.unwrap();
+            };
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.benchmarks;
+
+import com.jcabi.email.stamp.StSubject;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding of subjects by {@link StSubject}.
+ *
+ * <p>ASCII subjects go as they are, others are encoded as RFC 2047
+ * words, which is what this measures.
+ *
+ * @since 2.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SubjectBench {
+
+    /**
+     * Language of the subject.
+     */
+    @Param({ "ascii", "cyrillic", "cjk" })
+    public String language;
+
+    /**
+     * Subject.
+     */
+    private String subject;
+
+    /**
+     * Message to attach the subject to.
+     */
+    private Message message;
+
+    /**
+     * Make the subject and the message.
+     */
+    @Setup
+    public void setup() {
+        if ("cyrillic".equals(this.language)) {
+            this.subject = "Квартальный отчёт: проверьте, пожалуйста";
+        } else if ("cjk".equals(this.language)) {
+            this.subject = "四半期報告書：ご確認ください";
+        } else {
+            this.subject = "Quarterly report: please review";
+        }
+        this.message = new MimeMessage(
+            Session.getDefaultInstance(new Properties())
+        );
+    }
+
+    /**
+     * Attach the subject to the message.
+     * @return Message
+     * @throws MessagingException If fails
+     */
+    @Benchmark
+    public Message attach() throws MessagingException {
+        new StSubject(this.subject).attach(this.message);
+        return this.message;
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+
+/**
+ * JMH benchmarks.
+ *
+ * <p>Benchmark classes are not final and their parameters are public,
+ * because JMH generates subclasses that set them.
+ *
+ * @since 2.0
+ */
+package com.jcabi.email.benchmarks;
@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import javax.mail.internet.SharedInputStream;
+
+/**
+ * Input stream over a byte buffer, shared by its sub-streams.
+ *
+ * <p>{@link javax.mail.internet.MimeMessage} parsed from it keeps
+ * sub-streams instead of copying the content, just like it does with
+ * {@link javax.mail.util.SharedByteArrayInputStream}, but the buffer
+ * may be direct or mapped from a file:
+ *
+ * <pre> MimeBodyPart part = new MimeBodyPart(
+ *   new BufferStream(channel.map(FileChannel.MapMode.READ_ONLY, 0L, size))
+ * );</pre>
+ *
+ * @since 2.0
+ */
+public final class BufferStream extends InputStream
+    implements SharedInputStream {
+
+    /**
+     * The buffer, its position is the position of the stream.
+     */
+    private final transient ByteBuffer buffer;
+
+    /**
+     * Where the stream starts in the buffer.
+     */
+    private final transient int start;
+
+    /**
+     * Position marked.
+     */
+    private transient int mark;
+
+    /**
+     * Ctor.
+     * @param buf The buffer, from its position to its limit
+     * @checkstyle ConstructorsCodeFreeCheck (6 lines)
+     */
+    public BufferStream(final ByteBuffer buf) {
+        super();
+        this.buffer = buf.duplicate();
+        this.start = this.buffer.position();
+        this.mark = this.start;
+    }
+
+    @Override
+    public int read() {
+        final int chr;
+        if (this.buffer.hasRemaining()) {
+            chr = this.buffer.get() & 0xff;
+        } else {
+            chr = -1;
+        }
+        return chr;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len) {
+        final int total;
+        if (len == 0) {
+            total = 0;
+        } else if (this.buffer.hasRemaining()) {
+            total = Math.min(len, this.buffer.remaining());
+            this.buffer.get(bytes, off, total);
+        } else {
+            total = -1;
+        }
+        return total;
+    }
+
+    @Override
+    public long skip(final long num) {
+        final int skipped = (int) Math.max(
+            0L, Math.min(num, (long) this.buffer.remaining())
+        );
+        this.buffer.position(this.buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(final int limit) {
+        this.mark = this.buffer.position();
+    }
+
+    @Override
+    public void reset() {
+        this.buffer.position(this.mark);
+    }
+
+    @Override
+    public long getPosition() {
+        return (long) (this.buffer.position() - this.start);
+    }
+
+    @Override
+    public InputStream newStream(final long from, final long till) {
+        final ByteBuffer sub = this.buffer.duplicate();
+        if (till < 0L) {
+            sub.limit(this.buffer.limit());
+        } else {
+            sub.limit(this.start + (int) till);
+        }
+        sub.position(this.start + (int) from);
+        return new BufferStream(sub);
+    }
+}
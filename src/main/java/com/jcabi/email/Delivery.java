@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import java.io.IOException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Outcome of sending one envelope.
+ *
+ * <p>It is returned by postmen that send envelopes in bulk or in
+ * background, like {@link Postman.Batch}, where one failure must not
+ * stop the others.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "env", "error" })
+public final class Delivery {
+
+    /**
+     * The envelope.
+     */
+    private final transient Envelope env;
+
+    /**
+     * The failure or NULL if it was delivered.
+     */
+    private final transient IOException error;
+
+    /**
+     * Ctor, for a delivered envelope.
+     * @param envelope The envelope
+     */
+    public Delivery(final Envelope envelope) {
+        this(envelope, null);
+    }
+
+    /**
+     * Ctor.
+     * @param envelope The envelope
+     * @param failure The failure or NULL if it was delivered
+     */
+    public Delivery(final Envelope envelope, final IOException failure) {
+        this.env = envelope;
+        this.error = failure;
+    }
+
+    /**
+     * The envelope.
+     * @return Envelope
+     */
+    public Envelope envelope() {
+        return this.env;
+    }
+
+    /**
+     * Was it delivered?
+     * @return TRUE if it was accepted by the server
+     */
+    public boolean delivered() {
+        return this.error == null;
+    }
+
+    /**
+     * Throw the failure, if any.
+     * @throws IOException If the envelope was not delivered
+     */
+    public void verify() throws IOException {
+        if (this.error != null) {
+            throw this.error;
+        }
+    }
+}
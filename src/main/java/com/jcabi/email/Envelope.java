@@ -4,17 +4,19 @@
  */
 package com.jcabi.email;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.immutable.Array;
 import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Properties;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import javax.mail.Address;
 import javax.mail.Flags;
 import javax.mail.Message;
 import javax.mail.MessagingException;
@@ -68,7 +70,7 @@ public interface Envelope {
      */
     @Immutable
     @ToString
-    @EqualsAndHashCode(of = "encs")
+    @EqualsAndHashCode(of = { "stamps", "encs" })
     @Loggable(Loggable.DEBUG)
     final class Mime implements Envelope {
 
@@ -261,50 +263,164 @@ public interface Envelope {
 
     /**
      * Envelope that always returns the same message (within one hour).
+     *
+     * <p>Messages are kept in a {@link Region}, the default one, unless
+     * another is given. The region is bounded by the size of messages
+     * in it, so a message may be evicted and unwrapped again earlier.
+     *
      * @since 1.4
      */
-    @Immutable
     @ToString
-    @EqualsAndHashCode(of = "origin")
+    @EqualsAndHashCode(of = { "origin", "region" })
     @Loggable(Loggable.DEBUG)
     final class Constant implements Envelope {
 
         /**
-         * Guava cache.
+         * Origin env.
          */
-        private static final Cache<Envelope, Message> CACHE =
-            CacheBuilder.newBuilder()
-                .expireAfterWrite(1L, TimeUnit.HOURS)
-                .build();
+        private final transient Envelope origin;
 
         /**
-         * Origin env.
+         * Region to keep the message in.
          */
-        private final transient Envelope origin;
+        private final transient Region region;
 
         /**
          * Ctor.
          * @param env Envelope
          */
         public Constant(final Envelope env) {
+            this(env, Region.DEFAULT);
+        }
+
+        /**
+         * Ctor.
+         * @param env Envelope
+         * @param rgn Region to keep the message in
+         * @since 2.0
+         */
+        public Constant(final Envelope env, final Region rgn) {
             this.origin = env;
+            this.region = rgn;
         }
 
         @Override
         public Message unwrap() throws IOException {
-            try {
-                return Envelope.Constant.CACHE.get(
-                    this.origin,
-                    new Callable<Message>() {
-                        @Override
-                        public Message call() throws Exception {
-                            return Envelope.Constant.this.origin.unwrap();
-                        }
-                    }
-                );
-            } catch (final ExecutionException ex) {
-                throw new IOException(ex);
-            }
+            return this.region.message(this.origin);
+        }
+    }
+
+    /**
+     * Envelope rendered once, that gives every caller a message of its own.
+     *
+     * <p>Unlike {@link Constant}, which gives everyone the same message,
+     * it keeps the message rendered, as RFC 5322 bytes, in a
+     * {@link Region}, and makes a new message over them on every unwrap.
+     * Only the headers are parsed, the content is shared and is never
+     * copied. Each message can be changed, for example by {@link Draft},
+     * or by the transport while it's sent, without touching others, so
+     * the envelope can be sent from many threads at once:
+     *
+     * <pre> Envelope env = new Envelope.Frozen(
+     *   new Envelope.Mime().with(...)
+     * );
+     * for (Postman postman : postmen) {
+     *   executor.submit(() -&gt; postman.send(env));
+     * }</pre>
+     *
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "origin", "region" })
+    @Loggable(Loggable.DEBUG)
+    final class Frozen implements Envelope {
+
+        /**
+         * Origin env.
+         */
+        private final transient Envelope origin;
+
+        /**
+         * Region to keep the rendered message in.
+         */
+        private final transient Region region;
+
+        /**
+         * Ctor.
+         * @param env Envelope
+         */
+        public Frozen(final Envelope env) {
+            this(env, Region.DEFAULT);
+        }
+
+        /**
+         * Ctor.
+         * @param env Envelope
+         * @param rgn Region to keep the rendered message in
+         */
+        public Frozen(final Envelope env, final Region rgn) {
+            this.origin = env;
+            this.region = rgn;
+        }
+
+        @Override
+        public MimeMessage unwrap() throws IOException {
+            return this.region.rendered(this.origin).unwrap();
+        }
+    }
+
+    /**
+     * Envelope with a message already built.
+     *
+     * <p>Every unwrap returns the same message, which is built only once,
+     * when the envelope is made. Postmen that look into the message
+     * before sending it, like {@link com.jcabi.email.postman.PostNoDrafts},
+     * prepare the envelope and pass it on, so that the postmen after them,
+     * down to {@link Postman.Default}, don't build the message again:
+     *
+     * <pre> public void send(final Envelope env) throws IOException {
+     *   final Envelope.Prepared prepared = new Envelope.Prepared(env);
+     *   if (this.accepts(prepared.unwrap())) {
+     *     this.origin.send(prepared);
+     *   }
+     * }</pre>
+     *
+     * <p>The message is shared by everyone who unwraps the envelope, so
+     * the envelope is meant for one send, in one thread. Use
+     * {@link Frozen} to send the same envelope many times.
+     *
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = "message")
+    final class Prepared implements Envelope {
+
+        /**
+         * The message.
+         */
+        private final transient Message message;
+
+        /**
+         * Ctor.
+         * @param env Envelope to build the message from, unless it's
+         *  prepared already
+         * @throws IOException If fails
+         */
+        public Prepared(final Envelope env) throws IOException {
+            this(env.unwrap());
+        }
+
+        /**
+         * Ctor.
+         * @param msg The message
+         */
+        public Prepared(final Message msg) {
+            this.message = msg;
+        }
+
+        @Override
+        public Message unwrap() {
+            return this.message;
         }
     }
 
@@ -342,4 +458,143 @@ public interface Envelope {
             return msg;
         }
     }
+
+    /**
+     * Envelope with a message already rendered, as RFC 5322 bytes.
+     *
+     * <p>The bytes may be on heap, in a direct buffer or mapped from
+     * a file. Every unwrap parses the headers only; the content is neither
+     * copied nor encoded again, and is written out as it is when sent.
+     * Render an envelope once and send it many times:
+     *
+     * <pre> Envelope.Raw raw = new Envelope.Raw(envelope);
+     * for (Address[] rcpts : batches) {
+     *   postman.send(raw.to(rcpts));
+     * }</pre>
+     *
+     * <p>With {@link #to(Address...)} the message goes to the given
+     * recipients instead of those in its headers, which stay as they are,
+     * just like with Bcc. Only {@link Message#getAllRecipients()} of the
+     * message returns them, which is what postmen send to.
+     *
+     * @since 2.0
+     */
+    @ToString(of = "rcpts")
+    @EqualsAndHashCode(of = { "buffer", "rcpts" })
+    final class Raw implements Envelope {
+
+        /**
+         * The message, from position to limit.
+         */
+        private final transient ByteBuffer buffer;
+
+        /**
+         * Recipients, or empty if they are in the headers.
+         */
+        private final transient Address[] rcpts;
+
+        /**
+         * Ctor.
+         * @param env Envelope to render
+         * @throws IOException If fails
+         */
+        public Raw(final Envelope env) throws IOException {
+            this(Envelope.Raw.render(env));
+        }
+
+        /**
+         * Ctor.
+         * @param file File with the message, to map into memory
+         * @throws IOException If fails
+         */
+        public Raw(final Path file) throws IOException {
+            this(Envelope.Raw.map(file));
+        }
+
+        /**
+         * Ctor.
+         * @param bytes The message
+         */
+        public Raw(final byte[] bytes) {
+            this(ByteBuffer.wrap(bytes));
+        }
+
+        /**
+         * Ctor.
+         * @param buf The message, from position to limit
+         * @param addrs Recipients, or none if they are in the headers
+         * @checkstyle ConstructorsCodeFreeCheck (6 lines)
+         */
+        public Raw(final ByteBuffer buf, final Address... addrs) {
+            this.buffer = buf.asReadOnlyBuffer();
+            this.rcpts = addrs.clone();
+        }
+
+        @Override
+        public MimeMessage unwrap() throws IOException {
+            final Session session = Session.getDefaultInstance(
+                new Properties()
+            );
+            final InputStream input = new BufferStream(this.buffer);
+            final MimeMessage msg;
+            try {
+                if (this.rcpts.length == 0) {
+                    msg = new MimeMessage(session, input);
+                } else {
+                    final Address[] addrs = this.rcpts;
+                    msg = new MimeMessage(session, input) {
+                        @Override
+                        public Address[] getAllRecipients() {
+                            return addrs.clone();
+                        }
+                    };
+                }
+            } catch (final MessagingException ex) {
+                throw new IOException(ex);
+            }
+            return msg;
+        }
+
+        /**
+         * The same message, to other recipients.
+         * @param addrs Recipients, or none to send to those in the headers
+         * @return Envelope
+         */
+        public Envelope.Raw to(final Address... addrs) {
+            return new Envelope.Raw(this.buffer, addrs);
+        }
+
+        /**
+         * Render the envelope.
+         * @param env Envelope
+         * @return Bytes
+         * @throws IOException If fails
+         */
+        private static ByteBuffer render(final Envelope env)
+            throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                env.unwrap().writeTo(out);
+            } catch (final MessagingException ex) {
+                throw new IOException(ex);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+
+        /**
+         * Map the file into memory.
+         * @param file The file
+         * @return Bytes
+         * @throws IOException If fails
+         */
+        private static ByteBuffer map(final Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.READ
+            )) {
+                return channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                );
+            }
+        }
+    }
 }
@@ -8,7 +8,9 @@ import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import javax.mail.Address;
 import javax.mail.Message;
 import javax.mail.MessagingException;
@@ -139,4 +141,133 @@ public interface Postman {
             }
         }
     }
+
+    /**
+     * Postman that sends many envelopes through one connection.
+     *
+     * <p>{@link Postman.Default} connects to the server for every
+     * envelope. This one connects once and pushes all envelopes through
+     * the same transport, one transaction after another:
+     *
+     * <pre> List&lt;Delivery&gt; done = new Postman.Batch(wire).sendAll(
+     *   envelopes
+     * );</pre>
+     *
+     * <p>A failure of one envelope doesn't stop the batch, it is reported
+     * in its {@link Delivery}. If the server drops the session, the
+     * postman reconnects and tries the envelope once again.
+     *
+     * @since 2.0
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode(of = "wire")
+    @Loggable(Loggable.DEBUG)
+    final class Batch implements Postman {
+
+        /**
+         * Wire.
+         */
+        private final transient Wire wire;
+
+        /**
+         * Ctor.
+         * @param wre Wire
+         */
+        public Batch(final Wire wre) {
+            this.wire = wre;
+        }
+
+        @Override
+        public void send(final Envelope env) throws IOException {
+            final List<Envelope> single = new ArrayList<>(1);
+            single.add(env);
+            this.sendAll(single).get(0).verify();
+        }
+
+        /**
+         * Send all envelopes.
+         * @param envs Envelopes to send
+         * @return Outcomes, in the order of envelopes
+         */
+        public List<Delivery> sendAll(final Iterable<Envelope> envs) {
+            final List<Delivery> done = new ArrayList<>(0);
+            Transport transport = null;
+            int sent = 0;
+            try {
+                for (final Envelope env : envs) {
+                    try {
+                        final Message message =
+                            new Envelope.Strict(env).unwrap();
+                        if (transport == null) {
+                            transport = this.wire.connect();
+                        }
+                        if (!Postman.Batch.attempt(transport, message)) {
+                            Postman.Batch.quietly(transport);
+                            transport = this.wire.connect();
+                            if (!Postman.Batch.attempt(transport, message)) {
+                                throw new IOException(
+                                    "the server dropped the session"
+                                );
+                            }
+                        }
+                        done.add(new Delivery(env));
+                        ++sent;
+                    } catch (final IOException ex) {
+                        done.add(new Delivery(env, ex));
+                    } catch (final IllegalStateException ex) {
+                        done.add(new Delivery(env, new IOException(ex)));
+                    }
+                }
+            } finally {
+                Postman.Batch.quietly(transport);
+            }
+            Logger.info(
+                this, "%d email(s) sent out of %d",
+                sent, done.size()
+            );
+            return done;
+        }
+
+        /**
+         * Try to send one message.
+         * @param transport Transport
+         * @param message Message to send
+         * @return FALSE if the session is lost and nothing was sent
+         * @throws IOException If the server rejected the message
+         */
+        private static boolean attempt(final Transport transport,
+            final Message message) throws IOException {
+            boolean sent;
+            try {
+                transport.sendMessage(message, message.getAllRecipients());
+                sent = true;
+            } catch (final MessagingException ex) {
+                if (transport.isConnected()) {
+                    throw new IOException(ex);
+                }
+                sent = false;
+            } catch (final IllegalStateException ex) {
+                sent = false;
+            }
+            return sent;
+        }
+
+        /**
+         * Close transport, ignoring errors.
+         * @param transport Transport to close or NULL
+         */
+        private static void quietly(final Transport transport) {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (final MessagingException ex) {
+                    Logger.debug(
+                        Postman.Batch.class,
+                        "failed to close: %s", ex.getMessage()
+                    );
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,276 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Region of the cache of messages, used by {@link Envelope.Constant}
+ * and {@link Envelope.Frozen}.
+ *
+ * <p>Messages are kept in a region for an hour at most, while their
+ * total size, as they are rendered, is below the limit of the region.
+ * When it goes above, the least recently used messages are evicted.
+ * Envelopes given the same region share it; give envelopes a region
+ * of their own to keep them from pushing out others:
+ *
+ * <pre> Region region = new Region("newsletters", 16L &lt;&lt; 20);
+ * Envelope env = new Envelope.Constant(
+ *   new Envelope.Mime().with(...),
+ *   region
+ * );
+ * Logger.info(this, "%s", region.stats());</pre>
+ *
+ * <p>An envelope is rendered once, and the message kept for
+ * {@link Envelope.Constant} is parsed from the same bytes that are kept
+ * for {@link Envelope.Frozen}, so the content, which may be a stream,
+ * is read once, and the message is weighed by these bytes.
+ *
+ * <p>Every object is a region of its own, even if another one has
+ * the same name: the name only tells them apart in logs. Messages and
+ * their rendered forms, kept for {@link Envelope.Frozen}, count against
+ * the same limit. Envelopes made without a region share the default
+ * one, {@link #DEFAULT}.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "name", "bytes" })
+public final class Region {
+
+    /**
+     * The default region, with up to 64Mb of messages.
+     */
+    public static final Region DEFAULT = new Region("default");
+
+    /**
+     * Name.
+     */
+    private final transient String name;
+
+    /**
+     * Maximum total size of messages, in bytes.
+     */
+    private final transient long bytes;
+
+    /**
+     * Messages and rendered envelopes.
+     */
+    private final transient Cache<Object, Region.Entry> cache;
+
+    /**
+     * Ctor, with up to 64Mb of messages.
+     */
+    public Region() {
+        this("unnamed");
+    }
+
+    /**
+     * Ctor, with up to 64Mb of messages.
+     * @param label Name of the region
+     */
+    public Region(final String label) {
+        this(label, 64L << 20);
+    }
+
+    /**
+     * Ctor.
+     * @param label Name of the region
+     * @param max Maximum total size of messages, in bytes
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    public Region(final String label, final long max) {
+        this.name = label;
+        this.bytes = max;
+        this.cache = CacheBuilder.newBuilder()
+            .expireAfterWrite(1L, TimeUnit.HOURS)
+            .maximumWeight(max)
+            .<Object, Region.Entry>weigher((env, entry) -> entry.weight)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Get the message of the envelope, from the region or unwrapped.
+     * @param env The envelope
+     * @return Message
+     * @throws IOException If fails
+     */
+    public Message message(final Envelope env) throws IOException {
+        try {
+            return Message.class.cast(
+                this.cache.get(env, () -> this.entry(env)).value
+            );
+        } catch (final ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Get the envelope rendered, from the region or rendered now.
+     * @param env The envelope
+     * @return Rendered envelope, shared
+     * @throws IOException If fails
+     */
+    public Envelope.Raw rendered(final Envelope env) throws IOException {
+        try {
+            return Envelope.Raw.class.cast(
+                this.cache.get(
+                    new Region.Rendered(env), () -> Region.rendering(env)
+                ).value
+            );
+        } catch (final ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Statistics of the region: hits, misses and evictions.
+     * @return Stats
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Total size of messages in the region, in bytes.
+     * @return Size
+     */
+    public long size() {
+        return this.cache.asMap().values().stream()
+            .mapToLong(entry -> entry.weight).sum();
+    }
+
+    /**
+     * Evict all messages.
+     */
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Make the message over the rendered envelope, rendering it only
+     * if it's not in the region yet.
+     *
+     * <p>A message that can't be rendered yet, for example without
+     * content, is kept as it is and weighs nothing.
+     *
+     * @param env The envelope
+     * @return Entry
+     * @throws IOException If fails
+     */
+    private Region.Entry entry(final Envelope env) throws IOException {
+        final Region.Rendered key = new Region.Rendered(env);
+        Region.Entry rendered = this.cache.asMap().get(key);
+        Region.Entry entry = null;
+        if (rendered == null) {
+            final Message msg = env.unwrap();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                msg.writeTo(out);
+                rendered = Region.raw(out.toByteArray());
+                this.cache.put(key, rendered);
+            } catch (final IOException | MessagingException ex) {
+                Logger.debug(
+                    this, "can't render the message: %s", ex.getMessage()
+                );
+                entry = new Region.Entry(msg, 0);
+            }
+        }
+        if (entry == null) {
+            entry = new Region.Entry(
+                Envelope.Raw.class.cast(rendered.value).unwrap(),
+                rendered.weight
+            );
+        }
+        return entry;
+    }
+
+    /**
+     * Render the envelope.
+     * @param env The envelope
+     * @return Entry
+     * @throws IOException If fails
+     */
+    private static Region.Entry rendering(final Envelope env)
+        throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            env.unwrap().writeTo(out);
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+        return Region.raw(out.toByteArray());
+    }
+
+    /**
+     * Entry of the rendered envelope.
+     * @param bytes Rendered envelope
+     * @return Entry
+     */
+    private static Region.Entry raw(final byte[] bytes) {
+        return new Region.Entry(new Envelope.Raw(bytes), bytes.length);
+    }
+
+    /**
+     * Message or rendered envelope in the region.
+     * @since 2.0
+     */
+    private static final class Entry {
+
+        /**
+         * The message or the rendered envelope.
+         */
+        private final transient Object value;
+
+        /**
+         * Its size, in bytes.
+         */
+        private final transient int weight;
+
+        /**
+         * Ctor.
+         * @param val The message or the rendered envelope
+         * @param size Its size, in bytes
+         */
+        Entry(final Object val, final int size) {
+            this.value = val;
+            this.weight = size;
+        }
+    }
+
+    /**
+     * Key of the rendered envelope, apart from its message.
+     * @since 2.0
+     */
+    @EqualsAndHashCode(of = "origin")
+    private static final class Rendered {
+
+        /**
+         * The envelope.
+         */
+        private final transient Envelope origin;
+
+        /**
+         * Ctor.
+         * @param env The envelope
+         */
+        Rendered(final Envelope env) {
+            this.origin = env;
+        }
+    }
+}
@@ -4,10 +4,15 @@
  */
 package com.jcabi.email;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
 import javax.mail.Authenticator;
 import javax.mail.PasswordAuthentication;
 import javax.mail.Session;
@@ -28,6 +33,11 @@ import lombok.ToString;
  * );
  * </pre>
  *
+ * <p>Sessions are cached: the same protocol entries with the same
+ * credentials give the same {@link Session}, with its providers
+ * already loaded. The least recently used ones are evicted when there
+ * are too many of them.
+ *
  * @since 1.0
  */
 @Immutable
@@ -36,6 +46,14 @@ import lombok.ToString;
 @Loggable(Loggable.DEBUG)
 public final class Token {
 
+    /**
+     * Sessions, by protocol entries and credentials.
+     */
+    private static final Cache<List<Object>, Session> SESSIONS =
+        CacheBuilder.newBuilder()
+            .maximumSize(256L)
+            .build();
+
     /**
      * User name with access.
      */
@@ -62,9 +80,25 @@ public final class Token {
      * @return Session
      */
     public Session access(final Protocol protocol) {
+        final Map<String, String> entries = protocol.entries();
+        try {
+            return Token.SESSIONS.get(
+                Arrays.asList(entries, this.user, this.password),
+                () -> this.session(entries)
+            );
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Make a new session.
+     * @param entries Protocol entries
+     * @return Session
+     */
+    private Session session(final Map<String, String> entries) {
         final Properties props = new Properties();
-        for (final Map.Entry<String, String> entry
-            : protocol.entries().entrySet()) {
+        for (final Map.Entry<String, String> entry : entries.entrySet()) {
             props.setProperty(entry.getKey(), entry.getValue());
         }
         return Session.getInstance(
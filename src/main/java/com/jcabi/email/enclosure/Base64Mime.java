@@ -0,0 +1,155 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Base64 encoder of MIME bodies, in bulk.
+ *
+ * <p>Bytes are collected into a chunk of whole lines, 57 bytes each,
+ * and the chunk is encoded at once by the MIME encoder of
+ * {@link Base64}, which makes lines of 76 characters. Lines are
+ * separated by CRLF, there is no line break after the last one. Unlike
+ * {@code BASE64EncoderStream} of JavaMail, bytes don't go one by one
+ * through a filter stream:
+ *
+ * <pre> Base64Mime base = new Base64Mime(out, 64 * 1024);
+ * base.write(channel);
+ * base.finish();</pre>
+ *
+ * <p>The class is not thread-safe.
+ *
+ * @since 2.0
+ */
+final class Base64Mime {
+
+    /**
+     * Bytes encoded into one line.
+     */
+    static final int LINE = 57;
+
+    /**
+     * Line break.
+     */
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    /**
+     * Encoder, with lines of 76 characters.
+     */
+    private static final Base64.Encoder ENCODER = Base64.getMimeEncoder();
+
+    /**
+     * Where to write.
+     */
+    private final transient OutputStream out;
+
+    /**
+     * Bytes collected, not encoded yet.
+     */
+    private final transient byte[] src;
+
+    /**
+     * Buffer over them, its position is the number of bytes collected.
+     */
+    private final transient ByteBuffer buf;
+
+    /**
+     * Encoded bytes.
+     */
+    private final transient byte[] dst;
+
+    /**
+     * Nothing is written yet.
+     */
+    private transient boolean first;
+
+    /**
+     * Ctor.
+     * @param stream Where to write
+     * @param size Bytes to collect before encoding, at least one line
+     * @checkstyle ConstructorsCodeFreeCheck (15 lines)
+     */
+    Base64Mime(final OutputStream stream, final int size) {
+        this.out = stream;
+        this.src = new byte[
+            Math.max(1, size / Base64Mime.LINE) * Base64Mime.LINE
+        ];
+        this.buf = ByteBuffer.wrap(this.src);
+        this.dst = new byte[
+            this.src.length / Base64Mime.LINE * (Base64Mime.LINE / 3 * 4 + 2)
+        ];
+        this.first = true;
+    }
+
+    /**
+     * Encode the remaining bytes of the buffer.
+     * @param bytes The buffer, read to its limit
+     * @throws IOException If fails
+     */
+    void write(final ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            final int len = Math.min(bytes.remaining(), this.buf.remaining());
+            final ByteBuffer part = bytes.duplicate();
+            part.limit(part.position() + len);
+            this.buf.put(part);
+            bytes.position(bytes.position() + len);
+            if (!this.buf.hasRemaining()) {
+                this.encode();
+            }
+        }
+    }
+
+    /**
+     * Encode everything that can be read from the channel.
+     * @param channel The channel, read to its end
+     * @throws IOException If fails
+     */
+    void write(final ReadableByteChannel channel) throws IOException {
+        while (channel.read(this.buf) >= 0) {
+            if (!this.buf.hasRemaining()) {
+                this.encode();
+            }
+        }
+    }
+
+    /**
+     * Encode bytes that are left, with the last line, which may be
+     * shorter than others.
+     * @throws IOException If fails
+     */
+    void finish() throws IOException {
+        this.encode();
+    }
+
+    /**
+     * Encode bytes collected.
+     * @throws IOException If fails
+     */
+    private void encode() throws IOException {
+        final int len = this.buf.position();
+        if (len > 0) {
+            if (!this.first) {
+                this.out.write(Base64Mime.CRLF);
+            }
+            final byte[] chunk;
+            if (len == this.src.length) {
+                chunk = this.src;
+            } else {
+                chunk = Arrays.copyOf(this.src, len);
+            }
+            this.out.write(
+                this.dst, 0, Base64Mime.ENCODER.encode(chunk, this.dst)
+            );
+            this.first = false;
+            this.buf.clear();
+        }
+    }
+}
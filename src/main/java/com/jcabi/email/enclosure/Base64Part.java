@@ -0,0 +1,172 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import javax.activation.DataHandler;
+import javax.activation.DataSource;
+import javax.activation.FileDataSource;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+
+/**
+ * MIME part with the content of a file or a stream, in base64.
+ *
+ * <p>{@link MimeBodyPart} encodes the file through a few layers of
+ * streams and, before that, reads it all to decide which encoding to
+ * use. This part is always in base64 and writes itself by reading
+ * the source through a channel, in chunks of whole lines, encoded by
+ * {@link Base64Mime}, so memory it needs doesn't depend on the size
+ * of the content. A file is read
+ * through a {@link FileChannel}; any other source is opened only when
+ * the part is written, and is read once each time.
+ *
+ * <p>{@link #getInputStream()} and {@link #getContent()} still work
+ * and return the content of the source, not encoded.
+ *
+ * @since 2.0
+ */
+final class Base64Part extends MimeBodyPart {
+
+    /**
+     * Maximum bytes read at once, in whole lines.
+     */
+    private static final int CHUNK = Base64Mime.LINE * 1024;
+
+    /**
+     * Line break.
+     */
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    /**
+     * The source of the content.
+     */
+    private final transient DataSource source;
+
+    /**
+     * Ctor.
+     * @param path The file
+     * @throws MessagingException If fails
+     */
+    Base64Part(final Path path) throws MessagingException {
+        this(new FileDataSource(path.toFile()));
+    }
+
+    /**
+     * Ctor.
+     * @param src The source of the content
+     * @throws MessagingException If fails
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    Base64Part(final DataSource src) throws MessagingException {
+        super();
+        this.source = src;
+        this.setDataHandler(new DataHandler(src));
+        this.setHeader("Content-Transfer-Encoding", "base64");
+    }
+
+    @Override
+    public void writeTo(final OutputStream out)
+        throws IOException, MessagingException {
+        final Enumeration<String> lines = this.getAllHeaderLines();
+        while (lines.hasMoreElements()) {
+            out.write(lines.nextElement().getBytes(StandardCharsets.UTF_8));
+            out.write(Base64Part.CRLF);
+        }
+        out.write(Base64Part.CRLF);
+        try (ReadableByteChannel channel = this.open()) {
+            final Base64Mime base = new Base64Mime(
+                out, Base64Part.chunk(channel)
+            );
+            base.write(channel);
+            base.finish();
+        }
+    }
+
+    /**
+     * What tells this content from another one, without reading it:
+     * the path of the file, its size and the time it was modified.
+     * @return Text, or NULL if the source is not a file
+     * @throws IOException If fails
+     */
+    String identity() throws IOException {
+        final String identity;
+        if (this.source instanceof FileDataSource) {
+            final Path file = FileDataSource.class.cast(this.source)
+                .getFile().toPath();
+            identity = String.format(
+                "%s %d %d",
+                file.toAbsolutePath(),
+                Files.size(file),
+                Files.getLastModifiedTime(file).toMillis()
+            );
+        } else {
+            identity = null;
+        }
+        return identity;
+    }
+
+    /**
+     * Headers are set in the constructor, they don't depend on
+     * the content, which is not read here.
+     */
+    @Override
+    protected void updateHeaders() {
+        // headers are set already
+    }
+
+    /**
+     * Open the source.
+     * @return Channel to read the content from
+     * @throws IOException If fails
+     */
+    private ReadableByteChannel open() throws IOException {
+        final ReadableByteChannel channel;
+        if (this.source instanceof FileDataSource) {
+            channel = FileChannel.open(
+                FileDataSource.class.cast(this.source).getFile().toPath(),
+                StandardOpenOption.READ
+            );
+        } else {
+            channel = Channels.newChannel(this.source.getInputStream());
+        }
+        return channel;
+    }
+
+    /**
+     * Size of a chunk to read, in whole lines, as big as the file
+     * but not bigger than the maximum.
+     * @param channel The channel
+     * @return Bytes
+     * @throws IOException If fails
+     */
+    private static int chunk(final ReadableByteChannel channel)
+        throws IOException {
+        final int size;
+        if (channel instanceof FileChannel) {
+            size = (int) Math.max(
+                Base64Mime.LINE,
+                Math.min(
+                    Base64Part.CHUNK,
+                    (FileChannel.class.cast(channel).size()
+                        + Base64Mime.LINE - 1L)
+                        / Base64Mime.LINE * Base64Mime.LINE
+                )
+            );
+        } else {
+            size = Base64Part.CHUNK;
+        }
+        return size;
+    }
+}
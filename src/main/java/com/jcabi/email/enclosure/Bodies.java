@@ -0,0 +1,250 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.jcabi.email.BufferStream;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Cache of MIME parts, already encoded.
+ *
+ * <p>Parts are kept as they are sent: headers and the body in its
+ * transfer encoding. A part taken from the cache is parsed from these
+ * bytes and is written out as it is, without encoding it again. The
+ * least recently used parts are evicted when their total size goes
+ * above the limit:
+ *
+ * <pre> Bodies bodies = new Bodies(64L &lt;&lt; 20);
+ * Envelope env = new Envelope.Mime()
+ *   .with(
+ *     new EnCached(
+ *       new EnBinary(pdf, "price.pdf", "application/pdf"), bodies
+ *     )
+ *   )
+ *   .with(new EnCached(new EnHtml(html), bodies));</pre>
+ *
+ * <p>With a directory, parts are kept in files there, mapped into
+ * memory, and don't take space in the heap. The files are deleted when
+ * parts are evicted and when the cache is closed.
+ *
+ * @since 2.0
+ */
+@ToString(of = "dir")
+@EqualsAndHashCode(of = "cache")
+public final class Bodies implements Closeable {
+
+    /**
+     * Session for encoding parts.
+     */
+    private static final Session SESSION =
+        Session.getInstance(new Properties());
+
+    /**
+     * Directory for files, or NULL to keep parts in the heap.
+     */
+    private final transient Path dir;
+
+    /**
+     * Parts, by their fingerprints.
+     */
+    private final transient Cache<String, Bodies.Body> cache;
+
+    /**
+     * Number of files made.
+     */
+    private final transient AtomicLong files;
+
+    /**
+     * Ctor, with parts in the heap.
+     * @param bytes Maximum total size of parts, in bytes
+     */
+    public Bodies(final long bytes) {
+        this(bytes, null);
+    }
+
+    /**
+     * Ctor.
+     * @param bytes Maximum total size of parts, in bytes
+     * @param path Directory for files, or NULL to keep parts in the heap
+     * @checkstyle ConstructorsCodeFreeCheck (15 lines)
+     */
+    public Bodies(final long bytes, final Path path) {
+        this.dir = path;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(bytes)
+            .<String, Bodies.Body>weigher((key, body) -> body.size())
+            .removalListener(this::removed)
+            .recordStats()
+            .build();
+        this.files = new AtomicLong();
+    }
+
+    /**
+     * Get the part from the cache, or encode it and put it there.
+     * @param key Fingerprint of the part
+     * @param part The part, to encode if it's not in the cache
+     * @return Part, encoded
+     * @throws MessagingException If fails
+     */
+    public MimeBodyPart part(final String key, final MimeBodyPart part)
+        throws MessagingException {
+        final Bodies.Body body;
+        try {
+            body = this.cache.get(key, () -> this.encode(key, part));
+        } catch (final ExecutionException ex) {
+            throw new MessagingException("failed to encode", ex);
+        }
+        return new MimeBodyPart(new BufferStream(body.buffer));
+    }
+
+    /**
+     * Statistics of the cache.
+     * @return Stats
+     */
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Total size of parts in the cache, in bytes.
+     * @return Size
+     */
+    public long size() {
+        return this.cache.asMap().values().stream()
+            .mapToLong(Bodies.Body::size).sum();
+    }
+
+    /**
+     * Evict all parts and delete their files.
+     */
+    @Override
+    public void close() {
+        this.cache.invalidateAll();
+        this.cache.cleanUp();
+    }
+
+    /**
+     * Encode the part.
+     * @param key Fingerprint of the part
+     * @param part The part
+     * @return Body
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private Bodies.Body encode(final String key, final MimeBodyPart part)
+        throws IOException, MessagingException {
+        final MimeMultipart multi = new MimeMultipart();
+        multi.addBodyPart(part);
+        final MimeMessage msg = new MimeMessage(Bodies.SESSION);
+        msg.setContent(multi);
+        msg.saveChanges();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        part.writeTo(out);
+        final Bodies.Body body;
+        if (this.dir == null) {
+            body = new Bodies.Body(ByteBuffer.wrap(out.toByteArray()), null);
+        } else {
+            Files.createDirectories(this.dir);
+            final Path file = this.dir.resolve(
+                String.format("%s-%d.part", key, this.files.incrementAndGet())
+            );
+            try (FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            )) {
+                final ByteBuffer src = ByteBuffer.wrap(out.toByteArray());
+                while (src.hasRemaining()) {
+                    channel.write(src);
+                }
+                body = new Bodies.Body(
+                    channel.map(
+                        FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                    ),
+                    file
+                );
+            }
+        }
+        Logger.debug(this, "%s encoded, %d bytes", key, body.size());
+        return body;
+    }
+
+    /**
+     * Part is evicted, delete its file, if any.
+     * @param evicted Notification
+     */
+    private void removed(
+        final RemovalNotification<String, Bodies.Body> evicted) {
+        final Path file = evicted.getValue().file;
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException ex) {
+                Logger.debug(
+                    this, "failed to delete %s: %s", file, ex.getMessage()
+                );
+            }
+        }
+        Logger.debug(
+            this, "%s evicted (%s)", evicted.getKey(), evicted.getCause()
+        );
+    }
+
+    /**
+     * Encoded part.
+     * @since 2.0
+     */
+    private static final class Body {
+
+        /**
+         * Bytes.
+         */
+        private final transient ByteBuffer buffer;
+
+        /**
+         * File with them, or NULL if they are in the heap.
+         */
+        private final transient Path file;
+
+        /**
+         * Ctor.
+         * @param buf Bytes
+         * @param path File with them, or NULL
+         */
+        Body(final ByteBuffer buf, final Path path) {
+            this.buffer = buf;
+            this.file = path;
+        }
+
+        /**
+         * Size, in bytes.
+         * @return Size
+         */
+        int size() {
+            return this.buffer.capacity();
+        }
+    }
+}
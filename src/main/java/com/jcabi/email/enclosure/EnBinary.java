@@ -8,7 +8,6 @@ import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.email.Enclosure;
 import java.io.File;
-import java.io.IOException;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeBodyPart;
 import lombok.EqualsAndHashCode;
@@ -16,6 +15,10 @@ import lombok.ToString;
 
 /**
  * Binary enclosure in MIME envelope.
+ *
+ * <p>The file is read only when the message is sent, and is streamed
+ * in base64, in chunks, so large files don't need much memory.
+ *
  * @since 1.0
  */
 @Immutable
@@ -64,14 +67,9 @@ public final class EnBinary implements Enclosure {
                 "Attachment ctype can't be NULL"
             );
         }
-        final MimeBodyPart mime = new MimeBodyPart();
-        try {
-            mime.attachFile(new File(this.path));
-        } catch (final IOException ex) {
-            throw new IllegalStateException(ex);
-        }
+        final MimeBodyPart mime = new Base64Part(new File(this.path).toPath());
+        mime.setHeader("Content-Type", this.ctype);
         mime.setFileName(this.name);
-        mime.addHeader("Content-Type", this.ctype);
         return mime;
     }
 }
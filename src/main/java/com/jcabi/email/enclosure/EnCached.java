@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.jcabi.email.Enclosure;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Enclosure encoded only once, kept in {@link Bodies}.
+ *
+ * <p>The part is found in the cache by its fingerprint, a hash of its
+ * headers and its content. The content of {@link EnBinary} is not read
+ * for that: its file is identified by the path, the size and the time
+ * it was modified, so a changed file is encoded again. Streams of
+ * {@link EnStream} and {@link EnReader} are read once more to hash
+ * them, so they must give the same content every time. Enclosures with
+ * the same content share one entry in the cache, even if they are
+ * different objects:
+ *
+ * <pre> Bodies bodies = new Bodies(64L &lt;&lt; 20);
+ * for (User user : users) {
+ *   postman.send(
+ *     new Envelope.Mime()
+ *       .with(new StRecipient(user.email()))
+ *       .with(new EnCached(new EnBinary(pdf, "terms.pdf", ctype), bodies))
+ *   );
+ * }</pre>
+ *
+ * @since 2.0
+ */
+@ToString(of = "origin")
+@EqualsAndHashCode(of = { "origin", "bodies" })
+public final class EnCached implements Enclosure {
+
+    /**
+     * Original enclosure.
+     */
+    private final transient Enclosure origin;
+
+    /**
+     * Cache.
+     */
+    private final transient Bodies bodies;
+
+    /**
+     * Ctor.
+     * @param enc Original enclosure
+     * @param cache Cache of encoded parts
+     */
+    public EnCached(final Enclosure enc, final Bodies cache) {
+        this.origin = enc;
+        this.bodies = cache;
+    }
+
+    @Override
+    public MimeBodyPart part() throws MessagingException {
+        final MimeBodyPart part = this.origin.part();
+        return this.bodies.part(EnCached.fingerprint(part), part);
+    }
+
+    /**
+     * Fingerprint of the part.
+     * @param part The part
+     * @return Hash, in hex
+     * @throws MessagingException If fails
+     */
+    private static String fingerprint(final MimeBodyPart part)
+        throws MessagingException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final Enumeration<String> lines = part.getAllHeaderLines();
+        while (lines.hasMoreElements()) {
+            hasher.putString(lines.nextElement(), StandardCharsets.UTF_8);
+            hasher.putByte((byte) '\n');
+        }
+        hasher.putByte((byte) '\n');
+        try {
+            String identity = null;
+            if (part instanceof Base64Part) {
+                identity = Base64Part.class.cast(part).identity();
+            }
+            if (identity == null) {
+                final Object content = part.getContent();
+                if (content instanceof String) {
+                    hasher.putString(
+                        String.class.cast(content), StandardCharsets.UTF_8
+                    );
+                } else {
+                    EnCached.digest(part, hasher);
+                }
+            } else {
+                hasher.putString(identity, StandardCharsets.UTF_8);
+            }
+        } catch (final IOException ex) {
+            throw new MessagingException("failed to read the part", ex);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Hash the content of the part.
+     * @param part The part
+     * @param hasher Hasher
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private static void digest(final MimeBodyPart part, final Hasher hasher)
+        throws IOException, MessagingException {
+        final byte[] buf = new byte[8192];
+        try (InputStream input = part.getInputStream()) {
+            while (true) {
+                final int len = input.read(buf);
+                if (len < 0) {
+                    break;
+                }
+                hasher.putBytes(buf, 0, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import com.jcabi.email.Enclosure;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.concurrent.Callable;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeUtility;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Text enclosure in MIME envelope, read from a reader.
+ *
+ * <p>Unlike {@link EnPlain}, the text is not kept in memory: the reader
+ * is opened only when the message is written to the transport, and
+ * the text is encoded in quoted-printable while it's read:
+ *
+ * <pre> Envelope env = new Envelope.Mime()
+ *   .with(new StRecipient("jeff@example.com"))
+ *   .with(new EnReader(() -&gt; Files.newBufferedReader(log)));</pre>
+ *
+ * <p>The reader is opened each time the message is written, so it must
+ * give the same text every time. It is closed when it's read to the end.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "charset", "ctype" })
+@EqualsAndHashCode(of = { "reader", "charset", "ctype" })
+public final class EnReader implements Enclosure {
+
+    /**
+     * Opens the reader.
+     */
+    private final transient Callable<? extends Reader> reader;
+
+    /**
+     * Text charset.
+     */
+    private final transient String charset;
+
+    /**
+     * Content type, without the charset.
+     */
+    private final transient String ctype;
+
+    /**
+     * Ctor.
+     * @param input Opens a reader with plain text
+     */
+    public EnReader(final Callable<? extends Reader> input) {
+        this(input, "UTF-8");
+    }
+
+    /**
+     * Ctor.
+     * @param input Opens a reader with plain text
+     * @param chars Content charset
+     */
+    public EnReader(final Callable<? extends Reader> input,
+        final String chars) {
+        this(input, chars, "text/plain");
+    }
+
+    /**
+     * Ctor.
+     * @param input Opens a reader with text
+     * @param chars Content charset
+     * @param type MIME content type, like "text/html"
+     */
+    public EnReader(final Callable<? extends Reader> input,
+        final String chars, final String type) {
+        this.reader = input;
+        this.charset = chars;
+        this.ctype = type;
+    }
+
+    @Override
+    public MimeBodyPart part() throws MessagingException {
+        if (this.charset == null) {
+            throw new IllegalArgumentException(
+                "Attachment charset can't be NULL"
+            );
+        }
+        if (this.ctype == null) {
+            throw new IllegalArgumentException(
+                "Attachment ctype can't be NULL"
+            );
+        }
+        return new TextPart(
+            this.reader,
+            Charset.forName(MimeUtility.javaCharset(this.charset)),
+            this.ctype
+        );
+    }
+}
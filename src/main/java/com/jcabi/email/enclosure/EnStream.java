@@ -0,0 +1,194 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import com.jcabi.email.Enclosure;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.Callable;
+import javax.activation.DataSource;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Binary enclosure in MIME envelope, read from a stream.
+ *
+ * <p>The stream is opened only when the message is written to the
+ * transport, and is encoded in base64 while it's read, in chunks, so
+ * content of any size is sent without temporary files and without
+ * keeping it in memory:
+ *
+ * <pre> Envelope env = new Envelope.Mime()
+ *   .with(new StRecipient("jeff@example.com"))
+ *   .with(
+ *     new EnStream(
+ *       () -&gt; report.export(), "report.csv", "text/csv"
+ *     )
+ *   );</pre>
+ *
+ * <p>The source is opened each time the message is written, so it must
+ * give the same content every time. The stream or the channel it gives
+ * is closed when it's read to the end.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "name", "ctype" })
+@EqualsAndHashCode(of = { "source", "name", "ctype" })
+public final class EnStream implements Enclosure {
+
+    /**
+     * Source of the content.
+     */
+    private final transient EnStream.Source source;
+
+    /**
+     * Name.
+     */
+    private final transient String name;
+
+    /**
+     * Content type.
+     */
+    private final transient String ctype;
+
+    /**
+     * Ctor.
+     * @param input Opens a stream with the content
+     * @param label Name of the file to show
+     * @param type MIME content type
+     */
+    public EnStream(final Callable<? extends InputStream> input,
+        final String label, final String type) {
+        this(() -> Channels.newChannel(EnStream.call(input)), label, type);
+    }
+
+    /**
+     * Ctor.
+     * @param src Opens a channel with the content
+     * @param label Name of the file to show
+     * @param type MIME content type
+     */
+    public EnStream(final EnStream.Source src, final String label,
+        final String type) {
+        this.source = src;
+        this.name = label;
+        this.ctype = type;
+    }
+
+    @Override
+    public MimeBodyPart part() throws MessagingException {
+        if (this.name == null) {
+            throw new IllegalArgumentException(
+                "Attachment name can't be NULL"
+            );
+        }
+        if (this.ctype == null) {
+            throw new IllegalArgumentException(
+                "Attachment ctype can't be NULL"
+            );
+        }
+        final MimeBodyPart mime = new Base64Part(
+            new EnStream.Opened(this.source, this.name, this.ctype)
+        );
+        mime.setHeader("Content-Type", this.ctype);
+        mime.setFileName(this.name);
+        return mime;
+    }
+
+    /**
+     * Call it.
+     * @param input Opens a stream
+     * @return Stream
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static InputStream call(
+        final Callable<? extends InputStream> input) throws IOException {
+        try {
+            return input.call();
+        } catch (final IOException ex) {
+            throw ex;
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Source of the content.
+     * @since 2.0
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * Open a channel with the content.
+         * @return Channel, to read to the end and close
+         * @throws IOException If fails
+         */
+        ReadableByteChannel open() throws IOException;
+    }
+
+    /**
+     * Data source over the source.
+     * @since 2.0
+     */
+    private static final class Opened implements DataSource {
+
+        /**
+         * The source.
+         */
+        private final transient EnStream.Source source;
+
+        /**
+         * Name.
+         */
+        private final transient String label;
+
+        /**
+         * Content type.
+         */
+        private final transient String type;
+
+        /**
+         * Ctor.
+         * @param src The source
+         * @param name Name
+         * @param ctype Content type
+         */
+        Opened(final EnStream.Source src, final String name,
+            final String ctype) {
+            this.source = src;
+            this.label = name;
+            this.type = ctype;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Channels.newInputStream(this.source.open());
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException(
+                "Enclosure stream can't be written"
+            );
+        }
+
+        @Override
+        public String getContentType() {
+            return this.type;
+        }
+
+        @Override
+        public String getName() {
+            return this.label;
+        }
+    }
+}
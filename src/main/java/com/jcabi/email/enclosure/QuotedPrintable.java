@@ -0,0 +1,291 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Quoted-printable encoder of MIME text bodies, in bulk.
+ *
+ * <p>Each byte is looked up in a table, which tells whether it goes
+ * as it is, is escaped as {@code =XX}, is a space that may need to be
+ * escaped, or is a line break. Encoded bytes are collected in an array
+ * and written out when it's full, not one by one like
+ * {@code QPEncoderStream} of JavaMail does. The encoding is the same:
+ * line breaks of any kind become CRLF, spaces and tabs at the end of
+ * a line are escaped, and long lines are broken with soft line breaks
+ * so that no line is longer than 76 characters:
+ *
+ * <pre> QuotedPrintable qpe = new QuotedPrintable(out);
+ * qpe.write(ByteBuffer.wrap(bytes));
+ * qpe.finish();</pre>
+ *
+ * <p>The class is not thread-safe.
+ *
+ * @since 2.0
+ */
+final class QuotedPrintable {
+
+    /**
+     * Byte that goes as it is.
+     */
+    private static final byte PLAIN = 0;
+
+    /**
+     * Byte that is escaped.
+     */
+    private static final byte ESCAPED = 1;
+
+    /**
+     * Space or tab, escaped only at the end of a line.
+     */
+    private static final byte SPACE = 2;
+
+    /**
+     * Carriage return.
+     */
+    private static final byte CR = 3;
+
+    /**
+     * Line feed.
+     */
+    private static final byte LF = 4;
+
+    /**
+     * Kinds of all bytes.
+     */
+    private static final byte[] KINDS = QuotedPrintable.kinds();
+
+    /**
+     * Hex digits.
+     */
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7',
+        '8', '9', 'A', 'B', 'C', 'D', 'E', 'F',
+    };
+
+    /**
+     * Maximum characters in a line, before the soft line break.
+     */
+    private static final int WIDTH = 75;
+
+    /**
+     * Where to write.
+     */
+    private final transient OutputStream out;
+
+    /**
+     * Encoded bytes, not written yet.
+     */
+    private final transient byte[] dst;
+
+    /**
+     * Number of encoded bytes.
+     */
+    private transient int pos;
+
+    /**
+     * Characters in the current line.
+     */
+    private transient int column;
+
+    /**
+     * Space or tab seen last, not encoded yet, or -1.
+     */
+    private transient int space;
+
+    /**
+     * The last byte was CR.
+     */
+    private transient boolean carriage;
+
+    /**
+     * Ctor.
+     * @param stream Where to write
+     */
+    QuotedPrintable(final OutputStream stream) {
+        this(stream, 8192);
+    }
+
+    /**
+     * Ctor.
+     * @param stream Where to write
+     * @param size Size of the buffer of encoded bytes
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    QuotedPrintable(final OutputStream stream, final int size) {
+        this.out = stream;
+        this.dst = new byte[Math.max(size, 16)];
+        this.space = -1;
+    }
+
+    /**
+     * Encode the remaining bytes of the buffer.
+     * @param bytes The buffer, read to its limit
+     * @throws IOException If fails
+     */
+    void write(final ByteBuffer bytes) throws IOException {
+        if (bytes.hasArray()) {
+            final byte[] src = bytes.array();
+            final int end = bytes.arrayOffset() + bytes.limit();
+            for (int idx = bytes.arrayOffset() + bytes.position();
+                idx < end; ++idx) {
+                this.encode(src[idx]);
+            }
+            bytes.position(bytes.limit());
+        } else {
+            while (bytes.hasRemaining()) {
+                this.encode(bytes.get());
+            }
+        }
+    }
+
+    /**
+     * Encode the space left at the end and write out all bytes.
+     * @throws IOException If fails
+     */
+    void finish() throws IOException {
+        this.spaces(true);
+        this.out.write(this.dst, 0, this.pos);
+        this.pos = 0;
+    }
+
+    /**
+     * Encode one byte.
+     * @param chr The byte
+     * @throws IOException If fails
+     */
+    private void encode(final byte chr) throws IOException {
+        final byte kind = QuotedPrintable.KINDS[chr & 0xff];
+        if (kind == QuotedPrintable.LF) {
+            if (!this.carriage) {
+                this.spaces(true);
+                this.lines();
+            }
+        } else if (kind == QuotedPrintable.CR) {
+            this.spaces(true);
+            this.lines();
+        } else if (kind == QuotedPrintable.SPACE) {
+            this.spaces(false);
+            this.space = chr;
+        } else {
+            this.spaces(false);
+            if (kind == QuotedPrintable.PLAIN) {
+                this.plain(chr);
+            } else {
+                this.escaped(chr);
+            }
+        }
+        this.carriage = kind == QuotedPrintable.CR;
+    }
+
+    /**
+     * Encode the space seen last, if any.
+     * @param last It's at the end of a line, so must be escaped
+     * @throws IOException If fails
+     */
+    private void spaces(final boolean last) throws IOException {
+        if (this.space >= 0) {
+            if (last) {
+                this.escaped((byte) this.space);
+            } else {
+                this.plain((byte) this.space);
+            }
+            this.space = -1;
+        }
+    }
+
+    /**
+     * Add a byte as it is.
+     * @param chr The byte
+     * @throws IOException If fails
+     */
+    private void plain(final byte chr) throws IOException {
+        this.room(1);
+        this.dst[this.pos] = chr;
+        ++this.pos;
+        ++this.column;
+    }
+
+    /**
+     * Add an escaped byte.
+     * @param chr The byte
+     * @throws IOException If fails
+     */
+    private void escaped(final byte chr) throws IOException {
+        this.room(3);
+        this.dst[this.pos] = '=';
+        this.dst[this.pos + 1] = QuotedPrintable.HEX[(chr >> 4) & 0x0f];
+        this.dst[this.pos + 2] = QuotedPrintable.HEX[chr & 0x0f];
+        this.pos += 3;
+        this.column += 3;
+    }
+
+    /**
+     * Make room for characters in the line, breaking it if needed,
+     * and in the buffer, writing it out if needed.
+     * @param chars Number of characters
+     * @throws IOException If fails
+     */
+    private void room(final int chars) throws IOException {
+        if (this.column + chars > QuotedPrintable.WIDTH) {
+            this.flush(3);
+            this.dst[this.pos] = '=';
+            this.dst[this.pos + 1] = '\r';
+            this.dst[this.pos + 2] = '\n';
+            this.pos += 3;
+            this.column = 0;
+        }
+        this.flush(chars);
+    }
+
+    /**
+     * Add a hard line break.
+     * @throws IOException If fails
+     */
+    private void lines() throws IOException {
+        this.flush(2);
+        this.dst[this.pos] = '\r';
+        this.dst[this.pos + 1] = '\n';
+        this.pos += 2;
+        this.column = 0;
+    }
+
+    /**
+     * Write out the buffer if there is no room for more bytes.
+     * @param bytes Number of bytes to add
+     * @throws IOException If fails
+     */
+    private void flush(final int bytes) throws IOException {
+        if (this.pos + bytes > this.dst.length) {
+            this.out.write(this.dst, 0, this.pos);
+            this.pos = 0;
+        }
+    }
+
+    /**
+     * Make the table of kinds of bytes.
+     * @return Kinds, by byte
+     */
+    private static byte[] kinds() {
+        final byte[] kinds = new byte[256];
+        for (int chr = 0; chr < kinds.length; ++chr) {
+            if (chr == ' ' || chr == '\t') {
+                kinds[chr] = QuotedPrintable.SPACE;
+            } else if (chr == '\r') {
+                kinds[chr] = QuotedPrintable.CR;
+            } else if (chr == '\n') {
+                kinds[chr] = QuotedPrintable.LF;
+            } else if (chr > ' ' && chr < 127 && chr != '=') {
+                kinds[chr] = QuotedPrintable.PLAIN;
+            } else {
+                kinds[chr] = QuotedPrintable.ESCAPED;
+            }
+        }
+        return kinds;
+    }
+}
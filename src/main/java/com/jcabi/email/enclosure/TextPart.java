@@ -0,0 +1,208 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.concurrent.Callable;
+import javax.activation.DataHandler;
+import javax.activation.DataSource;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeUtility;
+
+/**
+ * MIME part with text from a reader, streamed in quoted-printable.
+ *
+ * <p>The reader is opened only when the part is written, and its
+ * characters are encoded into the charset and then by
+ * {@link QuotedPrintable} while they are read, through small buffers.
+ *
+ * <p>{@link #getInputStream()} and {@link #getContent()} still work,
+ * but they read the entire text into memory.
+ *
+ * @since 2.0
+ */
+final class TextPart extends MimeBodyPart {
+
+    /**
+     * Line break.
+     */
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    /**
+     * Characters read at once.
+     */
+    private static final int CHUNK = 8192;
+
+    /**
+     * Opens the reader.
+     */
+    private final transient Callable<? extends Reader> reader;
+
+    /**
+     * Charset.
+     */
+    private final transient Charset charset;
+
+    /**
+     * Ctor.
+     * @param input Opens the reader
+     * @param chars Charset
+     * @param type MIME content type, without the charset
+     * @throws MessagingException If fails
+     * @checkstyle ConstructorsCodeFreeCheck (20 lines)
+     */
+    TextPart(final Callable<? extends Reader> input, final Charset chars,
+        final String type) throws MessagingException {
+        super();
+        this.reader = input;
+        this.charset = chars;
+        final String ctype = String.format(
+            "%s; charset=%s",
+            type,
+            MimeUtility.quote(
+                MimeUtility.mimeCharset(chars.name()),
+                "()<>@,;:\\\"\t []/?="
+            )
+        );
+        this.setDataHandler(new DataHandler(new TextPart.Text(this, ctype)));
+        this.setHeader("Content-Type", ctype);
+        this.setHeader("Content-Transfer-Encoding", "quoted-printable");
+    }
+
+    @Override
+    public void writeTo(final OutputStream out)
+        throws IOException, MessagingException {
+        final Enumeration<String> lines = this.getAllHeaderLines();
+        while (lines.hasMoreElements()) {
+            out.write(lines.nextElement().getBytes(StandardCharsets.UTF_8));
+            out.write(TextPart.CRLF);
+        }
+        out.write(TextPart.CRLF);
+        final CharsetEncoder encoder = this.charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final CharBuffer chars = CharBuffer.allocate(TextPart.CHUNK);
+        final ByteBuffer bytes = ByteBuffer.allocate(
+            (int) (TextPart.CHUNK * encoder.maxBytesPerChar())
+        );
+        final QuotedPrintable qpe = new QuotedPrintable(out);
+        try (Reader reader = this.open()) {
+            boolean done = false;
+            while (!done) {
+                done = reader.read(chars) < 0;
+                chars.flip();
+                bytes.clear();
+                encoder.encode(chars, bytes, done);
+                if (done) {
+                    encoder.flush(bytes);
+                }
+                bytes.flip();
+                qpe.write(bytes);
+                chars.compact();
+            }
+        }
+        qpe.finish();
+    }
+
+    /**
+     * Headers are set in the constructor, they don't depend on
+     * the content, which is not read here.
+     */
+    @Override
+    protected void updateHeaders() {
+        // headers are set already
+    }
+
+    /**
+     * Open the reader.
+     * @return Reader
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private Reader open() throws IOException {
+        try {
+            return this.reader.call();
+        } catch (final IOException ex) {
+            throw ex;
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Text of the part, as a data source.
+     * @since 2.0
+     */
+    private static final class Text implements DataSource {
+
+        /**
+         * The part.
+         */
+        private final transient TextPart part;
+
+        /**
+         * Content type.
+         */
+        private final transient String type;
+
+        /**
+         * Ctor.
+         * @param prt The part
+         * @param ctype Content type
+         */
+        Text(final TextPart prt, final String ctype) {
+            this.part = prt;
+            this.type = ctype;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            final StringBuilder text = new StringBuilder(0);
+            try (Reader src = this.part.open()) {
+                final char[] buf = new char[TextPart.CHUNK];
+                while (true) {
+                    final int len = src.read(buf);
+                    if (len < 0) {
+                        break;
+                    }
+                    text.append(buf, 0, len);
+                }
+            }
+            return new ByteArrayInputStream(
+                text.toString().getBytes(this.part.charset)
+            );
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException(
+                "Enclosure text can't be written"
+            );
+        }
+
+        @Override
+        public String getContentType() {
+            return this.type;
+        }
+
+        @Override
+        public String getName() {
+            return "text";
+        }
+    }
+}
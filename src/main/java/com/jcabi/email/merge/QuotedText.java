@@ -0,0 +1,179 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.merge;
+
+import java.nio.charset.Charset;
+
+/**
+ * Quoted-printable encoding (RFC 2045), in two passes, and "Q"
+ * encoded words (RFC 2047).
+ *
+ * <p>{@link #encode(String, Charset)} encodes a piece of text without
+ * breaking it into lines, so that encoded pieces can be joined together.
+ * Then {@link #wrap(CharSequence)} adds soft line breaks to the result,
+ * keeping every line no longer than 76 characters.
+ *
+ * <p>{@link #words(String, Charset)} encodes a piece of a header,
+ * always, even if it's ASCII, so that pieces can be joined with spaces
+ * between them, which are ignored by decoders.
+ *
+ * @since 2.0
+ */
+final class QuotedText {
+
+    /**
+     * Maximum length of a line, without the soft line break.
+     */
+    private static final int WIDTH = 75;
+
+    /**
+     * Maximum length of an encoded word.
+     */
+    private static final int WORD = 75;
+
+    /**
+     * Hex digits.
+     */
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Utility class.
+     */
+    private QuotedText() {
+        // intentionally empty
+    }
+
+    /**
+     * Encode the text, without soft line breaks.
+     *
+     * <p>Line breaks of any kind become CRLF. Spaces and tabs are encoded
+     * at the end of a line and at the end of the text, since the text may
+     * be followed by a line break.
+     *
+     * @param text Text
+     * @param charset Charset of the text
+     * @return Encoded text
+     */
+    static String encode(final String text, final Charset charset) {
+        final byte[] bytes = text.getBytes(charset);
+        final StringBuilder out = new StringBuilder(bytes.length + 16);
+        for (int idx = 0; idx < bytes.length; ++idx) {
+            final int chr = bytes[idx] & 0xff;
+            if (chr == '\r' || chr == '\n') {
+                out.append("\r\n");
+                if (chr == '\r' && idx + 1 < bytes.length
+                    && bytes[idx + 1] == '\n') {
+                    ++idx;
+                }
+            } else if (chr == ' ' || chr == '\t') {
+                if (idx + 1 == bytes.length
+                    || bytes[idx + 1] == '\r' || bytes[idx + 1] == '\n') {
+                    QuotedText.escape(out, chr);
+                } else {
+                    out.append((char) chr);
+                }
+            } else if (chr < '!' || chr > '~' || chr == '=') {
+                QuotedText.escape(out, chr);
+            } else {
+                out.append((char) chr);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Add soft line breaks to the encoded text.
+     * @param text Encoded text, with CRLF line breaks only
+     * @return Text with lines no longer than 76 characters
+     */
+    static String wrap(final CharSequence text) {
+        final StringBuilder out = new StringBuilder(
+            text.length() + text.length() / QuotedText.WIDTH * 3
+        );
+        int col = 0;
+        int idx = 0;
+        while (idx < text.length()) {
+            final char chr = text.charAt(idx);
+            if (chr == '\r') {
+                out.append("\r\n");
+                idx += 2;
+                col = 0;
+            } else {
+                final int len;
+                if (chr == '=') {
+                    len = 3;
+                } else {
+                    len = 1;
+                }
+                if (col + len > QuotedText.WIDTH) {
+                    out.append("=\r\n");
+                    col = 0;
+                }
+                out.append(text, idx, idx + len);
+                idx += len;
+                col += len;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Encode the text as "Q" encoded words, each one after a space.
+     * @param text Text
+     * @param charset Charset of the text
+     * @return Encoded words, or empty string if the text is empty
+     */
+    static String words(final String text, final Charset charset) {
+        final String prefix = String.format("=?%s?Q?", charset.name());
+        final StringBuilder out = new StringBuilder(text.length() * 3);
+        final StringBuilder chr = new StringBuilder(12);
+        int len = 0;
+        int idx = 0;
+        while (idx < text.length()) {
+            final int next = text.offsetByCodePoints(idx, 1);
+            chr.setLength(0);
+            for (final byte bte
+                : text.substring(idx, next).getBytes(charset)) {
+                final int code = bte & 0xff;
+                if (code == ' ') {
+                    chr.append('_');
+                } else if (code >= 'a' && code <= 'z'
+                    || code >= 'A' && code <= 'Z'
+                    || code >= '0' && code <= '9'
+                    || "!*+-/".indexOf(code) >= 0) {
+                    chr.append((char) code);
+                } else {
+                    QuotedText.escape(chr, code);
+                }
+            }
+            if (len > 0 && len + chr.length() + 2 > QuotedText.WORD) {
+                out.append("?=");
+                len = 0;
+            }
+            if (len == 0) {
+                out.append(' ').append(prefix);
+                len = prefix.length();
+            }
+            out.append(chr);
+            len += chr.length();
+            idx = next;
+        }
+        if (len > 0) {
+            out.append("?=");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Add an escaped byte.
+     * @param out Output
+     * @param chr The byte
+     */
+    private static void escape(final StringBuilder out, final int chr) {
+        out.append('=')
+            .append(QuotedText.HEX[chr >> 4])
+            .append(QuotedText.HEX[chr & 0x0f]);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.merge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Text with placeholders, like {@code Hello, {{name}}!}, encoded
+ * in pieces.
+ *
+ * <p>Literal pieces between placeholders are encoded once, in the
+ * constructor. Values of placeholders are encoded every time the text
+ * is rendered. An unclosed {@code {{} is taken literally.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "literals", "names" })
+@EqualsAndHashCode(of = { "literals", "names" })
+final class Segments {
+
+    /**
+     * Opening of a placeholder.
+     */
+    private static final String OPEN = "{{";
+
+    /**
+     * Closing of a placeholder.
+     */
+    private static final String CLOSE = "}}";
+
+    /**
+     * Literal pieces, encoded, one more than names.
+     */
+    private final transient String[] literals;
+
+    /**
+     * Names of placeholders, between literal pieces.
+     */
+    private final transient String[] names;
+
+    /**
+     * Encoding of values.
+     */
+    private final transient Function<String, String> codec;
+
+    /**
+     * Total length of literal pieces.
+     */
+    private final transient int size;
+
+    /**
+     * Ctor.
+     * @param text Text with placeholders
+     * @param literal Encoding of literal pieces
+     * @param value Encoding of values
+     * @checkstyle ConstructorsCodeFreeCheck (34 lines)
+     */
+    Segments(final String text, final Function<String, String> literal,
+        final Function<String, String> value) {
+        final List<String> lits = new ArrayList<>(1);
+        final List<String> keys = new ArrayList<>(0);
+        int start = 0;
+        while (true) {
+            final int open = text.indexOf(Segments.OPEN, start);
+            if (open < 0) {
+                break;
+            }
+            final int close = text.indexOf(
+                Segments.CLOSE, open + Segments.OPEN.length()
+            );
+            if (close < 0) {
+                break;
+            }
+            lits.add(literal.apply(text.substring(start, open)));
+            keys.add(
+                text.substring(open + Segments.OPEN.length(), close).trim()
+            );
+            start = close + Segments.CLOSE.length();
+        }
+        lits.add(literal.apply(text.substring(start)));
+        this.literals = lits.toArray(new String[0]);
+        this.names = keys.toArray(new String[0]);
+        this.codec = value;
+        this.size = lits.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Render it with these values.
+     * @param vars Values of placeholders
+     * @return Encoded text
+     */
+    String render(final Map<String, String> vars) {
+        final StringBuilder out = new StringBuilder(
+            this.size + this.names.length * 16
+        );
+        out.append(this.literals[0]);
+        for (int idx = 0; idx < this.names.length; ++idx) {
+            final String val = vars.get(this.names[idx]);
+            if (val == null) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "value of \"%s\" is not set", this.names[idx]
+                    )
+                );
+            }
+            out.append(this.codec.apply(val)).append(this.literals[idx + 1]);
+        }
+        return out.toString();
+    }
+}
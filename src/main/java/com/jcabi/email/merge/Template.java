@@ -0,0 +1,446 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.merge;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Stamp;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.mail.Address;
+import javax.mail.BodyPart;
+import javax.mail.Header;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import javax.mail.internet.ContentType;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeUtility;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Template of many envelopes, different only in a few words.
+ *
+ * <p>Placeholders like {@code {{name}}} in the subject and in the plain
+ * and HTML parts of the envelope are replaced by the values given for
+ * each recipient:
+ *
+ * <pre> Template template = new Template(
+ *   new Envelope.Mime()
+ *     .with(new StSender("Jeff &lt;jeff@example.com&gt;"))
+ *     .with(new StSubject("Hello, {{name}}!"))
+ *     .with(new EnHtml("&lt;p&gt;Dear {{name}}, ...&lt;/p&gt;"))
+ * );
+ * for (User user : users) {
+ *   postman.send(
+ *     template.merge(
+ *       Collections.singletonMap("name", user.name()),
+ *       new StRecipient(user.email())
+ *     )
+ *   );
+ * }</pre>
+ *
+ * <p>The envelope is unwrapped only once, in the constructor, where its
+ * headers, its other parts and the text between placeholders are
+ * encoded. For each recipient only the values are encoded, with
+ * quoted-printable in the body and RFC 2047 in the subject, and the
+ * lines of text parts are wrapped again. Values are escaped in HTML
+ * parts. Stamps given to {@link #merge(Map, Stamp...)}, usually the
+ * recipient, are attached to every message made.
+ *
+ * <p>Message-ID and Date headers of the envelope are not copied, since
+ * they must be different in every message: fresh ones are written into
+ * each message made, with the domain of the sender in Message-ID.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "head", "subject", "texts", "domain" })
+@EqualsAndHashCode(of = { "head", "subject", "fixed", "texts", "domain" })
+public final class Template {
+
+    /**
+     * Headers that are made for each message.
+     */
+    private static final String[] OWN = {
+        "Subject", "Message-ID", "Date", "MIME-Version",
+        "Content-Type", "Content-Transfer-Encoding",
+    };
+
+    /**
+     * Line break.
+     */
+    private static final String CRLF = "\r\n";
+
+    /**
+     * Headers, encoded, without the subject and the content type.
+     */
+    private final transient byte[] head;
+
+    /**
+     * Subject.
+     */
+    private final transient Segments subject;
+
+    /**
+     * Content headers and pieces of the body around text parts, one
+     * more than texts.
+     */
+    private final transient byte[][] fixed;
+
+    /**
+     * Text parts.
+     */
+    private final transient Segments[] texts;
+
+    /**
+     * Domain for Message-ID.
+     */
+    private final transient String domain;
+
+    /**
+     * Ctor.
+     * @param env Envelope with placeholders
+     * @throws IOException If fails
+     */
+    public Template(final Envelope env) throws IOException {
+        this(env.unwrap());
+    }
+
+    /**
+     * Ctor.
+     * @param msg Message with placeholders
+     * @throws IOException If fails
+     * @checkstyle ConstructorsCodeFreeCheck (35 lines)
+     */
+    private Template(final Message msg) throws IOException {
+        final StringBuilder hdrs = new StringBuilder(0);
+        final List<byte[]> chunks = new ArrayList<>(2);
+        final List<Segments> parts = new ArrayList<>(1);
+        final String subj;
+        final String host;
+        try {
+            msg.saveChanges();
+            final Enumeration<Header> all = msg.getNonMatchingHeaders(
+                Template.OWN
+            );
+            while (all.hasMoreElements()) {
+                final Header hdr = all.nextElement();
+                hdrs.append(hdr.getName()).append(": ")
+                    .append(hdr.getValue()).append(Template.CRLF);
+            }
+            hdrs.append("MIME-Version: 1.0").append(Template.CRLF);
+            Template.body(msg, chunks, parts);
+            subj = msg.getSubject();
+            host = Template.domain(msg.getFrom());
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+        this.head = hdrs.toString().getBytes(StandardCharsets.ISO_8859_1);
+        this.subject = Template.subject(subj);
+        this.fixed = chunks.toArray(new byte[0][]);
+        this.texts = parts.toArray(new Segments[0]);
+        this.domain = host;
+    }
+
+    /**
+     * Make an envelope with these values.
+     * @param vars Values of placeholders
+     * @param stamps Stamps to attach, usually the recipient
+     * @return Envelope
+     */
+    public Envelope merge(final Map<String, String> vars,
+        final Stamp... stamps) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(
+            this.head.length + Arrays.stream(this.fixed)
+                .mapToInt(chunk -> chunk.length).sum() + 1024
+        );
+        Template.write(out, this.head);
+        Template.write(
+            out,
+            String.format(
+                "Date: %s%sMessage-ID: <%s@%s>%2$s",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                    ZonedDateTime.now()
+                ),
+                Template.CRLF, UUID.randomUUID(), this.domain
+            ).getBytes(StandardCharsets.ISO_8859_1)
+        );
+        final String subj = this.subject.render(vars);
+        if (!subj.isEmpty()) {
+            Template.write(
+                out,
+                String.format(
+                    "Subject:%s%s", MimeUtility.fold(8, subj), Template.CRLF
+                ).getBytes(StandardCharsets.ISO_8859_1)
+            );
+        }
+        Template.write(out, this.fixed[0]);
+        for (int idx = 0; idx < this.texts.length; ++idx) {
+            Template.write(
+                out,
+                QuotedText.wrap(this.texts[idx].render(vars))
+                    .getBytes(StandardCharsets.ISO_8859_1)
+            );
+            Template.write(out, this.fixed[idx + 1]);
+        }
+        return new Template.Merged(
+            new Envelope.Raw(out.toByteArray()), Arrays.asList(stamps)
+        );
+    }
+
+    /**
+     * Domain of the sender.
+     * @param from Senders, or NULL
+     * @return Domain, or "localhost" if there is no sender
+     */
+    private static String domain(final Address... from) {
+        String host = "localhost";
+        if (from != null && from.length > 0
+            && from[0] instanceof InternetAddress) {
+            final String addr = InternetAddress.class.cast(from[0])
+                .getAddress();
+            final int at = addr.lastIndexOf('@');
+            if (at >= 0 && at < addr.length() - 1) {
+                host = addr.substring(at + 1);
+            }
+        }
+        return host;
+    }
+
+    /**
+     * Compile the subject.
+     * @param text Subject with placeholders, or NULL
+     * @return Subject
+     */
+    private static Segments subject(final String text) {
+        final Function<String, String> codec =
+            piece -> QuotedText.words(piece, StandardCharsets.UTF_8);
+        final String subj;
+        if (text == null) {
+            subj = "";
+        } else {
+            subj = text;
+        }
+        return new Segments(subj, codec, codec);
+    }
+
+    /**
+     * Compile the body of the message, with its own headers.
+     * @param msg The message
+     * @param chunks Pieces around text parts, to add to
+     * @param parts Text parts, to add to
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private static void body(final Message msg, final List<byte[]> chunks,
+        final List<Segments> parts) throws IOException, MessagingException {
+        final Object content = msg.getContent();
+        StringBuilder chunk = new StringBuilder(0);
+        if (content instanceof Multipart) {
+            final Multipart multi = Multipart.class.cast(content);
+            final String boundary = new ContentType(multi.getContentType())
+                .getParameter("boundary");
+            chunk.append("Content-Type: ").append(multi.getContentType())
+                .append(Template.CRLF).append(Template.CRLF);
+            for (int idx = 0; idx < multi.getCount(); ++idx) {
+                final BodyPart part = multi.getBodyPart(idx);
+                chunk.append("--").append(boundary).append(Template.CRLF);
+                if (Template.mergeable(part)) {
+                    Template.text(part, chunk);
+                    chunks.add(
+                        chunk.toString().getBytes(StandardCharsets.ISO_8859_1)
+                    );
+                    parts.add(Template.segments(part));
+                    chunk = new StringBuilder(Template.CRLF);
+                } else {
+                    final ByteArrayOutputStream out =
+                        new ByteArrayOutputStream();
+                    part.writeTo(out);
+                    chunk.append(
+                        new String(
+                            out.toByteArray(), StandardCharsets.ISO_8859_1
+                        )
+                    ).append(Template.CRLF);
+                }
+            }
+            chunk.append("--").append(boundary).append("--")
+                .append(Template.CRLF);
+        } else if (Template.mergeable(msg)) {
+            Template.text(msg, chunk);
+            chunks.add(chunk.toString().getBytes(StandardCharsets.ISO_8859_1));
+            parts.add(Template.segments(msg));
+            chunk = new StringBuilder(0);
+        } else {
+            throw new IllegalArgumentException(
+                String.format(
+                    "can't merge content of type \"%s\"", msg.getContentType()
+                )
+            );
+        }
+        chunks.add(chunk.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Can placeholders in this part be replaced?
+     * @param part The part
+     * @return TRUE if it's plain or HTML text, not an attachment
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private static boolean mergeable(final Part part)
+        throws IOException, MessagingException {
+        return (part.isMimeType("text/plain") || part.isMimeType("text/html"))
+            && part.getFileName() == null
+            && part.getContent() instanceof String;
+    }
+
+    /**
+     * Add headers of a text part, with the line after them.
+     * @param part The part
+     * @param hdrs Headers, to add to
+     * @throws MessagingException If fails
+     */
+    private static void text(final Part part, final StringBuilder hdrs)
+        throws MessagingException {
+        final ContentType ctype = new ContentType(part.getContentType());
+        hdrs.append("Content-Type: ").append(ctype.getBaseType())
+            .append("; charset=").append(Template.charset(part).name())
+            .append(Template.CRLF)
+            .append("Content-Transfer-Encoding: quoted-printable")
+            .append(Template.CRLF).append(Template.CRLF);
+    }
+
+    /**
+     * Compile a text part.
+     * @param part The part
+     * @return Text
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private static Segments segments(final Part part)
+        throws IOException, MessagingException {
+        final Charset charset = Template.charset(part);
+        final Function<String, String> literal =
+            text -> QuotedText.encode(text, charset);
+        final Function<String, String> value;
+        if (part.isMimeType("text/html")) {
+            value = text -> QuotedText.encode(Template.escape(text), charset);
+        } else {
+            value = literal;
+        }
+        return new Segments(
+            String.class.cast(part.getContent()), literal, value
+        );
+    }
+
+    /**
+     * Charset of a text part.
+     * @param part The part
+     * @return Charset, UTF-8 if not set
+     * @throws MessagingException If fails
+     */
+    private static Charset charset(final Part part) throws MessagingException {
+        final String name = new ContentType(part.getContentType())
+            .getParameter("charset");
+        final Charset charset;
+        if (name == null) {
+            charset = StandardCharsets.UTF_8;
+        } else {
+            charset = Charset.forName(MimeUtility.javaCharset(name));
+        }
+        return charset;
+    }
+
+    /**
+     * Escape HTML special characters.
+     * @param text Text
+     * @return HTML
+     */
+    private static String escape(final String text) {
+        final StringBuilder html = new StringBuilder(text.length() + 16);
+        for (int idx = 0; idx < text.length(); ++idx) {
+            final char chr = text.charAt(idx);
+            if (chr == '<') {
+                html.append("&lt;");
+            } else if (chr == '>') {
+                html.append("&gt;");
+            } else if (chr == '&') {
+                html.append("&amp;");
+            } else if (chr == '"') {
+                html.append("&quot;");
+            } else if (chr == '\'') {
+                html.append("&#39;");
+            } else {
+                html.append(chr);
+            }
+        }
+        return html.toString();
+    }
+
+    /**
+     * Write bytes.
+     * @param out Output
+     * @param bytes Bytes
+     */
+    private static void write(final ByteArrayOutputStream out,
+        final byte[] bytes) {
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Envelope made by the template.
+     * @since 2.0
+     */
+    @ToString(of = "stamps")
+    @EqualsAndHashCode(of = { "raw", "stamps" })
+    private static final class Merged implements Envelope {
+
+        /**
+         * The message, rendered.
+         */
+        private final transient Envelope.Raw raw;
+
+        /**
+         * Stamps to attach.
+         */
+        private final transient Collection<Stamp> stamps;
+
+        /**
+         * Ctor.
+         * @param msg The message, rendered
+         * @param stmps Stamps to attach
+         */
+        Merged(final Envelope.Raw msg, final Collection<Stamp> stmps) {
+            this.raw = msg;
+            this.stamps = stmps;
+        }
+
+        @Override
+        public Message unwrap() throws IOException {
+            final Message msg = this.raw.unwrap();
+            try {
+                for (final Stamp stamp : this.stamps) {
+                    stamp.attach(msg);
+                }
+            } catch (final MessagingException ex) {
+                throw new IOException(ex);
+            }
+            return msg;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Token bucket, without locks.
+ *
+ * <p>It's the generic cell rate algorithm: instead of counting tokens,
+ * the bucket keeps the theoretical arrival time of the next message in
+ * one {@link AtomicLong} and moves it forward with compare-and-set, so
+ * hundreds of threads can take tokens at the same time without blocking
+ * each other:
+ *
+ * <pre> Bucket bucket = new Bucket(10.0d, 20);
+ * long nanos = bucket.reserve(500L);
+ * if (nanos &lt; 0L) {
+ *   // it's empty and won't refill in 500 msec
+ * }</pre>
+ *
+ * <p>The bucket refills at the given rate and holds up to the given
+ * number of tokens, so that short bursts go through without waiting.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "interval", "tolerance" })
+@EqualsAndHashCode(of = { "interval", "tolerance" })
+public final class Bucket {
+
+    /**
+     * Nanoseconds between two tokens.
+     */
+    private final transient long interval;
+
+    /**
+     * How far in the future the arrival time can go, in nanoseconds.
+     */
+    private final transient long tolerance;
+
+    /**
+     * Theoretical arrival time of the next message, in nanoseconds.
+     */
+    private final transient AtomicLong arrival;
+
+    /**
+     * Ctor.
+     * @param rate Tokens per second
+     * @param burst Maximum number of tokens at once
+     */
+    public Bucket(final double rate, final int burst) {
+        this(Bucket.nanos(rate), burst);
+    }
+
+    /**
+     * Ctor.
+     * @param nanos Nanoseconds between two tokens
+     * @param burst Maximum number of tokens at once
+     */
+    private Bucket(final long nanos, final int burst) {
+        this.interval = nanos;
+        this.tolerance = nanos * (long) (Math.max(burst, 1) - 1);
+        this.arrival = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Take a token now, if there is one.
+     * @return TRUE if taken
+     */
+    public boolean take() {
+        return this.reserve(0L) == 0L;
+    }
+
+    /**
+     * Reserve a token, if it will be available within the given time.
+     *
+     * <p>The token is taken right away, even when it's available only
+     * in the future; the caller has to wait the returned number of
+     * nanoseconds before using it, or {@link #cancel()} it.
+     *
+     * @param patience How long the caller can wait, in msec
+     * @return Nanoseconds to wait, or -1 if it's too long
+     */
+    public long reserve(final long patience) {
+        final long limit = TimeUnit.MILLISECONDS.toNanos(patience);
+        long wait;
+        while (true) {
+            final long now = System.nanoTime();
+            final long tat = this.arrival.get();
+            final long base = Math.max(tat, now);
+            wait = Math.max(base - this.tolerance - now, 0L);
+            if (wait > limit) {
+                wait = -1L;
+                break;
+            }
+            if (this.arrival.compareAndSet(tat, base + this.interval)) {
+                break;
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * Give back a token that was reserved, but not used.
+     */
+    public void cancel() {
+        this.arrival.addAndGet(-this.interval);
+    }
+
+    /**
+     * Convert rate to interval.
+     * @param rate Tokens per second
+     * @return Nanoseconds between tokens
+     */
+    private static long nanos(final double rate) {
+        if (rate <= 0.0d) {
+            throw new IllegalArgumentException(
+                String.format("rate must be positive: %f", rate)
+            );
+        }
+        return Math.max((long) (TimeUnit.SECONDS.toNanos(1L) / rate), 1L);
+    }
+
+    /**
+     * Buckets, one per key, all of the same size.
+     *
+     * <p>Buckets are created when a key is seen for the first time
+     * and are never removed.
+     *
+     * @since 2.0
+     */
+    @ToString(of = { "rate", "burst" })
+    @EqualsAndHashCode(of = { "rate", "burst" })
+    public static final class Keyed {
+
+        /**
+         * Tokens per second.
+         */
+        private final transient double rate;
+
+        /**
+         * Maximum number of tokens at once.
+         */
+        private final transient int burst;
+
+        /**
+         * Buckets by key.
+         */
+        private final transient Map<String, Bucket> buckets;
+
+        /**
+         * Ctor.
+         * @param rte Tokens per second, in each bucket
+         * @param max Maximum number of tokens at once, in each bucket
+         */
+        public Keyed(final double rte, final int max) {
+            this.rate = rte;
+            this.burst = max;
+            this.buckets = new ConcurrentHashMap<>(0);
+        }
+
+        /**
+         * Get the bucket of this key.
+         * @param key The key
+         * @return Bucket
+         */
+        public Bucket get(final String key) {
+            Bucket bucket = this.buckets.get(key);
+            if (bucket == null) {
+                bucket = this.buckets.computeIfAbsent(
+                    key, any -> new Bucket(this.rate, this.burst)
+                );
+            }
+            return bucket;
+        }
+    }
+}
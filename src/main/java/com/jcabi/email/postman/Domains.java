@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.mail.Address;
+import javax.mail.internet.InternetAddress;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Domains of recipients.
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = "rcpts")
+final class Domains {
+
+    /**
+     * Recipients, may be NULL.
+     */
+    private final transient Address[] rcpts;
+
+    /**
+     * Ctor.
+     * @param addrs Recipients, may be NULL
+     */
+    Domains(final Address... addrs) {
+        this.rcpts = addrs;
+    }
+
+    /**
+     * Get them.
+     * @return Domains, in lower case, without duplicates
+     */
+    Set<String> get() {
+        final Set<String> domains = new TreeSet<>();
+        if (this.rcpts != null) {
+            for (final Address rcpt : this.rcpts) {
+                if (rcpt instanceof InternetAddress) {
+                    final String email = InternetAddress.class.cast(rcpt)
+                        .getAddress();
+                    domains.add(
+                        email.substring(email.lastIndexOf('@') + 1)
+                            .toLowerCase(Locale.ENGLISH)
+                    );
+                }
+            }
+        }
+        return domains;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.mail.Address;
+import javax.mail.internet.InternetAddress;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Plan of SMTP transactions for a list of recipients.
+ *
+ * <p>Addresses are normalised (trimmed, domain in lower case, personal
+ * names dropped) and duplicates are removed, even if they come from
+ * different headers, like To and Bcc. Then they are grouped by domain
+ * and every group is split into transactions of no more than the given
+ * number of recipients:
+ *
+ * <pre> for (Address[] rcpts : new Plan(msg.getAllRecipients(), 100)
+ *   .transactions()) {
+ *   transport.sendMessage(msg, rcpts);
+ * }</pre>
+ *
+ * <p>Groups and recipients inside them stay in the order they were
+ * first seen. Addresses which are not {@link InternetAddress} are
+ * kept as they are, in a group of their own.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "rcpts", "max" })
+public final class Plan {
+
+    /**
+     * All recipients, as given.
+     */
+    private final transient Collection<Address> rcpts;
+
+    /**
+     * Maximum number of recipients in one transaction.
+     */
+    private final transient int max;
+
+    /**
+     * Ctor.
+     * @param addrs Recipients, may be NULL
+     * @param limit Maximum number of recipients in one transaction
+     */
+    public Plan(final Address[] addrs, final int limit) {
+        this(Plan.list(addrs), limit);
+    }
+
+    /**
+     * Ctor.
+     * @param addrs Recipients
+     * @param limit Maximum number of recipients in one transaction
+     */
+    public Plan(final Collection<Address> addrs, final int limit) {
+        this.rcpts = addrs;
+        this.max = limit;
+    }
+
+    /**
+     * Transactions, each one with the list of its recipients.
+     * @return Transactions, in order
+     */
+    public List<Address[]> transactions() {
+        if (this.max < 1) {
+            throw new IllegalArgumentException(
+                String.format("limit must be positive: %d", this.max)
+            );
+        }
+        final List<Address[]> list = new ArrayList<>(0);
+        for (final List<Address> group : this.groups().values()) {
+            for (int start = 0; start < group.size(); start += this.max) {
+                list.add(
+                    group.subList(
+                        start, Math.min(start + this.max, group.size())
+                    ).toArray(new Address[0])
+                );
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Unique recipients, grouped by domain.
+     * @return Groups of recipients, by domain
+     */
+    private Map<String, List<Address>> groups() {
+        final Map<String, Address> unique = new LinkedHashMap<>(0);
+        for (final Address rcpt : this.rcpts) {
+            if (rcpt instanceof InternetAddress) {
+                final String email = InternetAddress.class.cast(rcpt)
+                    .getAddress().trim();
+                final int split = email.lastIndexOf('@');
+                final InternetAddress norm = new InternetAddress();
+                if (split < 0) {
+                    norm.setAddress(email);
+                } else {
+                    final String domain = email.substring(split + 1)
+                        .toLowerCase(Locale.ENGLISH);
+                    norm.setAddress(
+                        String.format(
+                            "%s@%s", email.substring(0, split), domain
+                        )
+                    );
+                }
+                unique.putIfAbsent(
+                    norm.getAddress().toLowerCase(Locale.ENGLISH), norm
+                );
+            } else {
+                unique.putIfAbsent(rcpt.toString(), rcpt);
+            }
+        }
+        final Map<String, List<Address>> groups = new LinkedHashMap<>(0);
+        for (final Address rcpt : unique.values()) {
+            groups.computeIfAbsent(Plan.domain(rcpt), key -> new ArrayList<>(1))
+                .add(rcpt);
+        }
+        return groups;
+    }
+
+    /**
+     * Domain of this recipient.
+     * @param rcpt Recipient
+     * @return Domain, or empty string if there is none
+     */
+    private static String domain(final Address rcpt) {
+        String domain = "";
+        if (rcpt instanceof InternetAddress) {
+            final String email = InternetAddress.class.cast(rcpt).getAddress();
+            final int split = email.lastIndexOf('@');
+            if (split >= 0) {
+                domain = email.substring(split + 1);
+            }
+        }
+        return domain;
+    }
+
+    /**
+     * Array to list.
+     * @param addrs Array or NULL
+     * @return List
+     */
+    private static Collection<Address> list(final Address[] addrs) {
+        final Collection<Address> list;
+        if (addrs == null) {
+            list = new ArrayList<>(0);
+        } else {
+            list = Arrays.asList(addrs);
+        }
+        return list;
+    }
+}
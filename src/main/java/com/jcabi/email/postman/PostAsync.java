@@ -0,0 +1,259 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Delivery;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that sends in background.
+ *
+ * <p>{@link #send(Envelope)} returns immediately and the failures are
+ * only logged. Use {@link #deliver(Envelope)} to get the outcome:
+ *
+ * <pre> try (PostAsync postman = new PostAsync(
+ *   new Postman.Default(wire), 16
+ * )) {
+ *   postman.deliver(envelope).thenAccept(
+ *     delivery -&gt; Logger.info(this, "delivered: %b", delivery.delivered())
+ *   );
+ * }</pre>
+ *
+ * <p>No more than the given number of envelopes are sent through
+ * the origin postman at the same time, the rest wait in the queue.
+ * By default sending happens in virtual threads, if the JVM has them,
+ * or in a fixed pool of daemon threads otherwise.
+ *
+ * <p>{@link #close()} stops accepting new envelopes and waits
+ * until all queued ones are sent. If interrupted, it drops the queued
+ * ones and their futures complete with failed deliveries.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "origin", "max" })
+@EqualsAndHashCode(of = { "origin", "max" })
+public final class PostAsync implements Postman, Closeable {
+
+    /**
+     * Original postman.
+     */
+    private final transient Postman origin;
+
+    /**
+     * Maximum number of envelopes in flight.
+     */
+    private final transient int max;
+
+    /**
+     * Executor.
+     */
+    private final transient ExecutorService threads;
+
+    /**
+     * Slots for envelopes in flight.
+     */
+    private final transient Semaphore slots;
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     */
+    public PostAsync(final Postman post) {
+        this(post, 8);
+    }
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param total Maximum number of envelopes in flight
+     * @checkstyle ConstructorsCodeFreeCheck (5 lines)
+     */
+    public PostAsync(final Postman post, final int total) {
+        this(post, total, PostAsync.executor(total));
+    }
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param total Maximum number of envelopes in flight
+     * @param exec Executor to send in, it will be shut down on close
+     */
+    public PostAsync(final Postman post, final int total,
+        final ExecutorService exec) {
+        this.origin = post;
+        this.max = total;
+        this.threads = exec;
+        this.slots = new Semaphore(total, true);
+    }
+
+    @Override
+    public void send(final Envelope env) {
+        this.deliver(env).thenAccept(
+            delivery -> {
+                if (!delivery.delivered()) {
+                    try {
+                        delivery.verify();
+                    } catch (final IOException ex) {
+                        Logger.warn(this, "failed to send: %[exception]s", ex);
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Send this envelope in background.
+     * @param env Envelope to send
+     * @return Future outcome
+     */
+    public CompletableFuture<Delivery> deliver(final Envelope env) {
+        final CompletableFuture<Delivery> future = new CompletableFuture<>();
+        try {
+            this.threads.execute(new PostAsync.Task(env, future));
+        } catch (final RejectedExecutionException ex) {
+            future.complete(
+                new Delivery(env, new IOException("postman is closed", ex))
+            );
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+        this.threads.shutdown();
+        try {
+            while (!this.threads.awaitTermination(1L, TimeUnit.MINUTES)) {
+                Logger.info(this, "still sending queued envelopes...");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final List<Runnable> dropped = this.threads.shutdownNow();
+            for (final Runnable task : dropped) {
+                if (task instanceof PostAsync.Task) {
+                    PostAsync.Task.class.cast(task).drop(ex);
+                }
+            }
+            Logger.warn(
+                this, "interrupted, %d envelope(s) not sent", dropped.size()
+            );
+        }
+    }
+
+    /**
+     * Send it, waiting for a free slot.
+     * @param env Envelope to send
+     * @return Outcome
+     */
+    private Delivery post(final Envelope env) {
+        Delivery delivery;
+        try {
+            this.slots.acquire();
+            try {
+                this.origin.send(env);
+                delivery = new Delivery(env);
+            } finally {
+                this.slots.release();
+            }
+        } catch (final IOException ex) {
+            delivery = new Delivery(env, ex);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            delivery = new Delivery(env, new IOException(ex));
+        }
+        return delivery;
+    }
+
+    /**
+     * Sending of one envelope, which completes its future.
+     *
+     * @since 2.0
+     */
+    private final class Task implements Runnable {
+
+        /**
+         * Envelope to send.
+         */
+        private final transient Envelope env;
+
+        /**
+         * Future outcome.
+         */
+        private final transient CompletableFuture<Delivery> future;
+
+        /**
+         * Ctor.
+         * @param envelope Envelope to send
+         * @param outcome Future outcome
+         */
+        Task(final Envelope envelope,
+            final CompletableFuture<Delivery> outcome) {
+            this.env = envelope;
+            this.future = outcome;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public void run() {
+            try {
+                this.future.complete(PostAsync.this.post(this.env));
+            } catch (final RuntimeException ex) {
+                this.future.completeExceptionally(ex);
+            }
+        }
+
+        /**
+         * Complete the future, since the envelope will never be sent.
+         * @param cause Why
+         */
+        void drop(final Throwable cause) {
+            this.future.complete(
+                new Delivery(
+                    this.env, new IOException("postman was interrupted", cause)
+                )
+            );
+        }
+    }
+
+    /**
+     * Make default executor.
+     * @param total Maximum number of envelopes in flight
+     * @return Virtual threads if available, fixed pool otherwise
+     */
+    private static ExecutorService executor(final int total) {
+        ExecutorService exec;
+        try {
+            exec = ExecutorService.class.cast(
+                Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null)
+            );
+        } catch (final NoSuchMethodException | IllegalAccessException
+            | InvocationTargetException ex) {
+            exec = Executors.newFixedThreadPool(
+                total,
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "post-async");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+        return exec;
+    }
+}
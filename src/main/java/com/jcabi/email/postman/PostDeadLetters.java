@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.aspects.Loggable;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.spool.DeadLetters;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that keeps messages which failed to send.
+ *
+ * <p>When the origin postman throws, the message is rendered and stored
+ * in {@link DeadLetters}, together with the time, the SMTP code found
+ * by {@link Reason}, the text of the failure and the recipient domains.
+ * Then the exception is thrown further, as if nothing happened:
+ *
+ * <pre> Postman postman = new PostDeadLetters(
+ *   new Postman.Default(wire), letters
+ * );</pre>
+ *
+ * <p>Later the letters can be sent again with
+ * {@link DeadLetters#replay(DeadLetters.Query, Postman, int)}.
+ * Put it outside of {@link PostRetry}, to keep only the letters that
+ * failed after all attempts.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "origin", "letters" })
+@Loggable(Loggable.DEBUG)
+public final class PostDeadLetters implements Postman {
+
+    /**
+     * Original postman.
+     */
+    private final transient Postman origin;
+
+    /**
+     * Where to keep failed messages.
+     */
+    private final transient DeadLetters letters;
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param dlq Where to keep failed messages
+     */
+    public PostDeadLetters(final Postman post, final DeadLetters dlq) {
+        this.origin = post;
+        this.letters = dlq;
+    }
+
+    @Override
+    public void send(final Envelope env) throws IOException {
+        try {
+            this.origin.send(env);
+        } catch (final IOException ex) {
+            try {
+                this.keep(env, ex);
+            } catch (final IOException | MessagingException err) {
+                ex.addSuppressed(err);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Keep the failed message.
+     * @param env Envelope
+     * @param error The failure
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private void keep(final Envelope env, final IOException error)
+        throws IOException, MessagingException {
+        final Message msg = env.unwrap();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        msg.writeTo(out);
+        final Reason reason = new Reason(error);
+        this.letters.store(
+            new DeadLetters.Letter(
+                Instant.now(),
+                reason.code(),
+                String.valueOf(error.getMessage()),
+                new Domains(msg.getAllRecipients()).get(),
+                out.toByteArray()
+            )
+        );
+        Logger.info(
+            this, "failed message kept, code %d: %s",
+            reason.code(), error.getMessage()
+        );
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.aspects.Loggable;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.spool.Ledger;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that doesn't send the same envelope twice.
+ *
+ * <p>Every envelope gets a key, and the keys of envelopes sent are
+ * kept in the {@link Ledger}. An envelope with a key seen before is
+ * dropped silently:
+ *
+ * <pre> Postman postman = new PostIdempotent(
+ *   new Postman.Default(wire),
+ *   new Ledger(Paths.get("/var/email/sent"))
+ * );</pre>
+ *
+ * <p>By default the key is the Message-ID header, if it is set, for
+ * example with {@link com.jcabi.email.stamp.StHeader}. Otherwise it is
+ * a SHA-256 of the sender, the recipients, the subject and the content
+ * of all parts. Another {@link PostIdempotent.Key} may be given.
+ *
+ * <p>While an envelope is being sent, its duplicates are dropped too.
+ * If sending fails, the key is released and the envelope may be sent
+ * again.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "origin", "ledger", "key" })
+@Loggable(Loggable.DEBUG)
+public final class PostIdempotent implements Postman {
+
+    /**
+     * Key by Message-ID header or by content.
+     */
+    public static final PostIdempotent.Key DEFAULT = msg -> {
+        final String[] ids = msg.getHeader("Message-ID");
+        final String key;
+        if (ids == null || ids.length == 0) {
+            key = PostIdempotent.digest(msg);
+        } else {
+            key = ids[0].trim();
+        }
+        return key;
+    };
+
+    /**
+     * Original postman.
+     */
+    private final transient Postman origin;
+
+    /**
+     * Keys seen.
+     */
+    private final transient Ledger ledger;
+
+    /**
+     * Key of an envelope.
+     */
+    private final transient PostIdempotent.Key key;
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param ldgr Keys seen
+     */
+    public PostIdempotent(final Postman post, final Ledger ldgr) {
+        this(post, ldgr, PostIdempotent.DEFAULT);
+    }
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param ldgr Keys seen
+     * @param fnc Key of an envelope
+     */
+    public PostIdempotent(final Postman post, final Ledger ldgr,
+        final PostIdempotent.Key fnc) {
+        this.origin = post;
+        this.ledger = ldgr;
+        this.key = fnc;
+    }
+
+    @Override
+    public void send(final Envelope env) throws IOException {
+        final Envelope.Prepared prepared = new Envelope.Prepared(env);
+        final String name;
+        try {
+            name = this.key.key(prepared.unwrap());
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+        if (this.ledger.reserve(name)) {
+            try {
+                this.origin.send(prepared);
+            } catch (final IOException ex) {
+                this.ledger.release(name);
+                throw ex;
+            }
+            this.ledger.confirm(name);
+        } else {
+            Logger.info(this, "duplicate %s dropped", name);
+        }
+    }
+
+    /**
+     * SHA-256 of sender, recipients, subject and content.
+     * @param msg The message
+     * @return Hash, in Base64
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private static String digest(final Message msg)
+        throws IOException, MessagingException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        PostIdempotent.update(digest, msg.getFrom());
+        PostIdempotent.update(digest, msg.getAllRecipients());
+        PostIdempotent.update(digest, String.valueOf(msg.getSubject()));
+        PostIdempotent.update(digest, msg);
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    /**
+     * Add content of the part and its sub-parts.
+     * @param digest Digest
+     * @param part The part
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private static void update(final MessageDigest digest, final Part part)
+        throws IOException, MessagingException {
+        final Object content = part.getContent();
+        if (content instanceof Multipart) {
+            final Multipart multi = Multipart.class.cast(content);
+            for (int idx = 0; idx < multi.getCount(); ++idx) {
+                PostIdempotent.update(digest, multi.getBodyPart(idx));
+            }
+        } else {
+            PostIdempotent.update(digest, String.valueOf(part.getFileName()));
+            final byte[] buf = new byte[8192];
+            try (InputStream input = part.getInputStream()) {
+                while (true) {
+                    final int len = input.read(buf);
+                    if (len < 0) {
+                        break;
+                    }
+                    digest.update(buf, 0, len);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add addresses.
+     * @param digest Digest
+     * @param addrs Addresses or NULL
+     */
+    private static void update(final MessageDigest digest,
+        final Address[] addrs) {
+        if (addrs != null) {
+            final String[] all = new String[addrs.length];
+            for (int idx = 0; idx < addrs.length; ++idx) {
+                all[idx] = addrs[idx].toString();
+            }
+            Arrays.sort(all);
+            for (final String addr : all) {
+                PostIdempotent.update(digest, addr);
+            }
+        }
+    }
+
+    /**
+     * Add text, with a separator.
+     * @param digest Digest
+     * @param text Text
+     */
+    private static void update(final MessageDigest digest,
+        final String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Key of a message.
+     * @since 2.0
+     */
+    @FunctionalInterface
+    public interface Key {
+
+        /**
+         * Make a key.
+         * @param msg The message
+         * @return Key
+         * @throws IOException If fails
+         * @throws MessagingException If fails
+         */
+        String key(Message msg) throws IOException, MessagingException;
+    }
+}
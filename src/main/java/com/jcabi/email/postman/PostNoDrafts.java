@@ -18,6 +18,10 @@ import lombok.ToString;
 
 /**
  * Postman that ignores drafts.
+ *
+ * <p>The message is built once and passed on in
+ * {@link Envelope.Prepared}.
+ *
  * @since 1.6
  */
 @Immutable
@@ -41,12 +45,13 @@ public final class PostNoDrafts implements Postman {
 
     @Override
     public void send(final Envelope env) throws IOException {
-        final Message message = env.unwrap();
+        final Envelope.Prepared prepared = new Envelope.Prepared(env);
+        final Message message = prepared.unwrap();
         try {
             if (message.isSet(Flags.Flag.DRAFT)) {
                 Logger.info(this, "message has DRAFT flag, ignoring");
             } else {
-                this.origin.send(env);
+                this.origin.send(prepared);
             }
         } catch (final MessagingException ex) {
             throw new IOException(ex);
@@ -21,6 +21,10 @@ import lombok.ToString;
 
 /**
  * Postman that ignores loops (sender equals to recipient).
+ *
+ * <p>The message is built once and passed on in
+ * {@link Envelope.Prepared}.
+ *
  * @since 1.6
  */
 @Immutable
@@ -44,14 +48,15 @@ public final class PostNoLoops implements Postman {
 
     @Override
     public void send(final Envelope env) throws IOException {
-        final Message msg = env.unwrap();
+        final Envelope.Prepared prepared = new Envelope.Prepared(env);
+        final Message msg = prepared.unwrap();
         try {
             final Address[] rcpts = msg.getAllRecipients();
             final boolean intersects =
                 this.intersect(rcpts, msg.getReplyTo(), "Reply-To and Recipients")
                 || this.intersect(rcpts, msg.getFrom(), "Recipients and From");
             if (!intersects) {
-                this.origin.send(env);
+                this.origin.send(prepared);
             }
         } catch (final MessagingException ex) {
             throw new IOException(ex);
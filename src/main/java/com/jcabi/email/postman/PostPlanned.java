@@ -0,0 +1,208 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.Wire;
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that splits recipients into a few SMTP transactions.
+ *
+ * <p>{@link Postman.Default} gives all recipients to one transaction,
+ * so an address in both To and Bcc gets the message twice, and a long
+ * list of recipients may go over the limit of the server, which fails
+ * the entire transaction. This postman makes a {@link Plan} instead,
+ * and sends each transaction of it through its own connection, in
+ * parallel:
+ *
+ * <pre> try (PostPlanned postman = new PostPlanned(wire, 100)) {
+ *   postman.send(envelope);
+ * }</pre>
+ *
+ * <p>The message is rendered only once; every transaction sends
+ * the same bytes. If some transactions fail, the others are not
+ * cancelled and their recipients get the message; the exception
+ * thrown is the first failure, with the rest suppressed in it.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "wire", "max" })
+@EqualsAndHashCode(of = { "wire", "max" })
+public final class PostPlanned implements Postman, Closeable {
+
+    /**
+     * Wire.
+     */
+    private final transient Wire wire;
+
+    /**
+     * Maximum number of recipients in one transaction.
+     */
+    private final transient int max;
+
+    /**
+     * Executor.
+     */
+    private final transient ExecutorService threads;
+
+    /**
+     * Ctor.
+     * @param wre Wire
+     */
+    public PostPlanned(final Wire wre) {
+        this(wre, 100);
+    }
+
+    /**
+     * Ctor.
+     * @param wre Wire
+     * @param limit Maximum number of recipients in one transaction
+     * @checkstyle ConstructorsCodeFreeCheck (15 lines)
+     */
+    public PostPlanned(final Wire wre, final int limit) {
+        this(
+            wre, limit,
+            Executors.newFixedThreadPool(
+                8,
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "post-planned");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param wre Wire
+     * @param limit Maximum number of recipients in one transaction
+     * @param exec Executor to send in, it will be shut down on close
+     */
+    public PostPlanned(final Wire wre, final int limit,
+        final ExecutorService exec) {
+        this.wire = wre;
+        this.max = limit;
+        this.threads = exec;
+    }
+
+    @Override
+    public void send(final Envelope env) throws IOException {
+        final Message msg = new Envelope.Strict(env).unwrap();
+        final List<Address[]> plan;
+        try {
+            plan = new Plan(msg.getAllRecipients(), this.max).transactions();
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+        final Envelope.Raw raw = new Envelope.Raw(() -> msg);
+        if (plan.size() == 1) {
+            this.transaction(raw, plan.get(0));
+        } else {
+            final List<Future<?>> futures = new ArrayList<>(plan.size());
+            for (final Address[] rcpts : plan) {
+                futures.add(
+                    this.threads.submit(
+                        () -> {
+                            this.transaction(raw, rcpts);
+                            return null;
+                        }
+                    )
+                );
+            }
+            PostPlanned.await(futures);
+        }
+        Logger.info(
+            this, "email sent in %d transaction(s)", plan.size()
+        );
+    }
+
+    @Override
+    public void close() {
+        this.threads.shutdown();
+        try {
+            if (!this.threads.awaitTermination(1L, TimeUnit.MINUTES)) {
+                Logger.warn(this, "transactions are still running");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Send one transaction.
+     * @param raw The message, rendered
+     * @param rcpts Recipients
+     * @throws IOException If fails
+     */
+    private void transaction(final Envelope.Raw raw, final Address[] rcpts)
+        throws IOException {
+        final Transport transport = this.wire.connect();
+        try {
+            transport.sendMessage(raw.unwrap(), rcpts);
+            Logger.debug(this, "sent to %[list]s", Arrays.asList(rcpts));
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        } finally {
+            try {
+                transport.close();
+            } catch (final MessagingException ex) {
+                Logger.debug(this, "failed to close: %s", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wait for all of them.
+     * @param futures Futures
+     * @throws IOException If any of them failed
+     */
+    private static void await(final Iterable<Future<?>> futures)
+        throws IOException {
+        IOException error = null;
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException ex) {
+                final IOException cause;
+                if (ex.getCause() instanceof IOException) {
+                    cause = IOException.class.cast(ex.getCause());
+                } else {
+                    cause = new IOException(ex.getCause());
+                }
+                if (error == null) {
+                    error = cause;
+                } else {
+                    error.addSuppressed(cause);
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that tries again after temporary failures.
+ *
+ * <p>Only failures that {@link Reason} finds temporary are retried:
+ * 4xx replies and lost connections. A 5xx reply is thrown right
+ * away, since the server will say the same next time. The delay
+ * between attempts doubles every time, up to the maximum; half of it is
+ * random, so that many senders don't come back at the same moment.
+ *
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "origin", "attempts", "base", "max" })
+@Loggable(Loggable.DEBUG)
+public final class PostRetry implements Postman {
+
+    /**
+     * Original postman.
+     */
+    private final transient Postman origin;
+
+    /**
+     * Maximum number of attempts.
+     */
+    private final transient int attempts;
+
+    /**
+     * First delay, in msec.
+     */
+    private final transient long base;
+
+    /**
+     * Maximum delay, in msec.
+     */
+    private final transient long max;
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     */
+    public PostRetry(final Postman post) {
+        this(post, 5, 1000L, 60_000L);
+    }
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param total Maximum number of attempts
+     * @param first First delay, in msec
+     * @param limit Maximum delay, in msec
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PostRetry(final Postman post, final int total, final long first,
+        final long limit) {
+        this.origin = post;
+        this.attempts = total;
+        this.base = first;
+        this.max = limit;
+    }
+
+    @Override
+    public void send(final Envelope env) throws IOException {
+        int attempt = 0;
+        while (true) {
+            try {
+                this.origin.send(env);
+                break;
+            } catch (final IOException ex) {
+                ++attempt;
+                final Reason reason = new Reason(ex);
+                if (attempt >= this.attempts || !reason.temporary()) {
+                    throw ex;
+                }
+                final long delay = this.delay(attempt);
+                Logger.info(
+                    this, "attempt #%d failed with code %d, retrying in %[ms]s",
+                    attempt, reason.code(), delay
+                );
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (final InterruptedException iex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(iex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delay before the next attempt.
+     * @param attempt Number of attempts made
+     * @return Msec
+     */
+    private long delay(final int attempt) {
+        final long full = Math.min(
+            this.max, this.base << Math.min(attempt - 1, 30)
+        );
+        final long half = full / 2L;
+        return half + ThreadLocalRandom.current().nextLong(half + 1L);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.spool.Spool;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that saves envelopes to disk and sends them in background.
+ *
+ * <p>{@link #send(Envelope)} renders the message, with all its
+ * recipients, appends it to the {@link Spool} and returns once it is on
+ * disk. A background thread takes messages from the spool and sends them
+ * through the origin postman. If the JVM dies, messages not sent yet stay
+ * in the spool and are sent after the restart:
+ *
+ * <pre> try (Spool spool = new Spool(Paths.get("/var/spool/email"));
+ *   PostSpooled postman = new PostSpooled(
+ *     new Postman.Default(wire), spool
+ *   )) {
+ *   postman.send(envelope);
+ * }</pre>
+ *
+ * <p>Messages are sent one by one, in the order they were spooled.
+ * When the origin fails temporarily, according to {@link Reason}, the
+ * message is tried again after a delay, which doubles every time, up to
+ * a minute; when it fails permanently, the message is logged and skipped.
+ * A message sent right before a crash may be sent again after
+ * the restart.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "origin", "spool" })
+@EqualsAndHashCode(of = { "origin", "spool" })
+public final class PostSpooled implements Postman, Closeable {
+
+    /**
+     * Maximum delay between attempts, in msec.
+     */
+    private static final long MAX_DELAY = 60_000L;
+
+    /**
+     * Original postman.
+     */
+    private final transient Postman origin;
+
+    /**
+     * The spool.
+     */
+    private final transient Spool spool;
+
+    /**
+     * Thread that sends.
+     */
+    private final transient Thread drainer;
+
+    /**
+     * Ctor.
+     *
+     * <p>The background thread starts right away, to send what was
+     * left in the spool.
+     *
+     * @param post Original postman
+     * @param spl The spool
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    public PostSpooled(final Postman post, final Spool spl) {
+        this.origin = post;
+        this.spool = spl;
+        this.drainer = new Thread(this::drain, "spool-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public void send(final Envelope env) throws IOException {
+        final Message msg = new Envelope.Strict(env).unwrap();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            msg.writeTo(out);
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+        this.spool.append(out.toByteArray());
+    }
+
+    /**
+     * Stop sending.
+     *
+     * <p>The message being sent now, if any, is sent to the end.
+     * Messages left in the spool will be sent next time.
+     */
+    @Override
+    public void close() {
+        this.drainer.interrupt();
+        try {
+            this.drainer.join(TimeUnit.MINUTES.toMillis(1L));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Send everything from the spool, until interrupted.
+     */
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final Spool.Entry entry = this.spool.next();
+                this.deliver(entry.bytes());
+                this.spool.ack(entry);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException ex) {
+            Logger.info(this, "stopped: %s", ex.getMessage());
+        }
+    }
+
+    /**
+     * Send one message, trying again after temporary failures.
+     * @param bytes The message
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private void deliver(final byte[] bytes) throws InterruptedException {
+        long delay = TimeUnit.SECONDS.toMillis(1L);
+        while (true) {
+            try {
+                this.origin.send(new Envelope.Raw(bytes));
+                break;
+            } catch (final IOException ex) {
+                if (!new Reason(ex).temporary()) {
+                    Logger.error(
+                        this, "failed to send, skipped: %[exception]s", ex
+                    );
+                    break;
+                }
+                Logger.warn(
+                    this, "failed to send, retrying in %[ms]s: %s",
+                    delay, ex.getMessage()
+                );
+                TimeUnit.MILLISECONDS.sleep(delay);
+                delay = Math.min(delay * 2L, PostSpooled.MAX_DELAY);
+            } catch (final IllegalStateException ex) {
+                Logger.error(
+                    this, "broken message, skipped: %[exception]s", ex
+                );
+                break;
+            }
+        }
+    }
+}
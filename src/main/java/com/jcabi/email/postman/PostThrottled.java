@@ -0,0 +1,201 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.mail.MessagingException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Postman that doesn't send faster than the given rates.
+ *
+ * <p>Every message takes a token from each of the given buckets and,
+ * if domain buckets are given, from the bucket of each recipient domain.
+ * Share a bucket among a few postmen to limit them all together, and
+ * give each postman its own bucket to limit its wire:
+ *
+ * <pre> Bucket global = new Bucket(100.0d, 100);
+ * Bucket.Keyed domains = new Bucket.Keyed(5.0d, 10);
+ * Postman first = new PostThrottled(
+ *   new Postman.Default(new Smtp(one)),
+ *   PostThrottled.BLOCK, domains, global, new Bucket(50.0d, 50)
+ * );
+ * Postman second = new PostThrottled(
+ *   new Postman.Default(new Smtp(two)),
+ *   PostThrottled.BLOCK, domains, global, new Bucket(20.0d, 20)
+ * );</pre>
+ *
+ * <p>When a bucket is empty the postman waits until it refills, but
+ * not longer than the given patience, in milliseconds. With
+ * {@link #BLOCK} it waits as long as needed, with {@link #REJECT} it
+ * doesn't wait at all. When it can't wait that long, it throws
+ * {@link PostThrottled.Rejected} and takes no tokens.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "origin", "patience" })
+@EqualsAndHashCode(of = { "origin", "patience", "domains", "buckets" })
+public final class PostThrottled implements Postman {
+
+    /**
+     * Wait as long as necessary.
+     */
+    public static final long BLOCK = Long.MAX_VALUE;
+
+    /**
+     * Don't wait at all.
+     */
+    public static final long REJECT = 0L;
+
+    /**
+     * Original postman.
+     */
+    private final transient Postman origin;
+
+    /**
+     * Maximum wait, in msec.
+     */
+    private final transient long patience;
+
+    /**
+     * Buckets of recipient domains, or NULL.
+     */
+    private final transient Bucket.Keyed domains;
+
+    /**
+     * Buckets every message goes through.
+     */
+    private final transient Collection<Bucket> buckets;
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param wait Maximum wait, in msec
+     * @param bkts Buckets every message goes through
+     */
+    public PostThrottled(final Postman post, final long wait,
+        final Bucket... bkts) {
+        this(post, wait, null, bkts);
+    }
+
+    /**
+     * Ctor.
+     * @param post Original postman
+     * @param wait Maximum wait, in msec
+     * @param keyed Buckets of recipient domains, or NULL
+     * @param bkts Buckets every message goes through
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PostThrottled(final Postman post, final long wait,
+        final Bucket.Keyed keyed, final Bucket... bkts) {
+        this.origin = post;
+        this.patience = wait;
+        this.domains = keyed;
+        this.buckets = Arrays.asList(bkts);
+    }
+
+    @Override
+    public void send(final Envelope env) throws IOException {
+        final Envelope ready;
+        final List<Bucket> all = new ArrayList<>(this.buckets);
+        if (this.domains == null) {
+            ready = env;
+        } else {
+            ready = new Envelope.Prepared(env);
+            for (final String domain : PostThrottled.domains(ready)) {
+                all.add(this.domains.get(domain));
+            }
+        }
+        final long wait = this.acquire(all);
+        if (wait > 0L) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+        this.origin.send(ready);
+    }
+
+    /**
+     * Reserve a token in all buckets, or in none of them.
+     * @param all Buckets
+     * @return Nanoseconds to wait
+     * @throws PostThrottled.Rejected If it's too long to wait
+     */
+    private long acquire(final List<Bucket> all)
+        throws PostThrottled.Rejected {
+        long wait = 0L;
+        for (int idx = 0; idx < all.size(); ++idx) {
+            final long nanos = all.get(idx).reserve(this.patience);
+            if (nanos < 0L) {
+                for (int prev = 0; prev < idx; ++prev) {
+                    all.get(prev).cancel();
+                }
+                Logger.debug(this, "%s is empty, rejected", all.get(idx));
+                throw new PostThrottled.Rejected(
+                    String.format(
+                        "rate limit exceeded, can't wait %d msec",
+                        this.patience
+                    )
+                );
+            }
+            wait = Math.max(wait, nanos);
+        }
+        return wait;
+    }
+
+    /**
+     * Domains of all recipients.
+     * @param env Envelope
+     * @return Domains, in lower case, without duplicates
+     * @throws IOException If fails
+     */
+    private static Set<String> domains(final Envelope env)
+        throws IOException {
+        final Set<String> domains;
+        try {
+            domains = new Domains(env.unwrap().getAllRecipients()).get();
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+        return domains;
+    }
+
+    /**
+     * Thrown when a message is rejected because of the rate limit.
+     *
+     * <p>{@link Reason} finds it temporary, so {@link PostRetry}
+     * will try again later.
+     *
+     * @since 2.0
+     */
+    public static final class Rejected extends IOException {
+
+        /**
+         * Serialization marker.
+         */
+        private static final long serialVersionUID = 0x7a3c9f15e4d2b801L;
+
+        /**
+         * Ctor.
+         * @param msg Message
+         */
+        public Rejected(final String msg) {
+            super(msg);
+        }
+    }
+}
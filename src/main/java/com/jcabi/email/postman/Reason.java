@@ -0,0 +1,133 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.util.MailConnectException;
+import java.io.EOFException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Reason of a failure to send.
+ *
+ * <p>It looks through the chain of causes of an exception thrown by
+ * a postman, finds SMTP reply codes in
+ * {@link SMTPSendFailedException} and
+ * {@link SMTPAddressFailedException}, and tells whether it makes sense
+ * to try again later:
+ *
+ * <pre> try {
+ *   postman.send(envelope);
+ * } catch (final IOException ex) {
+ *   if (new Reason(ex).temporary()) {
+ *     // 4xx or lost connection, try again later
+ *   }
+ * }</pre>
+ *
+ * <p>A failure is temporary when the worst SMTP code in the chain is
+ * 4xx, or when there are no codes at all but the connection failed or
+ * {@link PostThrottled} rejected the message.
+ * Everything else, including any 5xx code, is permanent.
+ *
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = "error")
+public final class Reason {
+
+    /**
+     * The failure.
+     */
+    private final transient Throwable error;
+
+    /**
+     * Ctor.
+     * @param failure The failure
+     */
+    public Reason(final Throwable failure) {
+        this.error = failure;
+    }
+
+    /**
+     * The worst SMTP reply code found.
+     * @return Code, or zero if there is none
+     */
+    public int code() {
+        int code = 0;
+        for (final Throwable cause : this.chain()) {
+            final int found;
+            if (cause instanceof SMTPSendFailedException) {
+                found = SMTPSendFailedException.class.cast(cause)
+                    .getReturnCode();
+            } else if (cause instanceof SMTPAddressFailedException) {
+                found = SMTPAddressFailedException.class.cast(cause)
+                    .getReturnCode();
+            } else {
+                found = 0;
+            }
+            code = Math.max(code, found);
+        }
+        return code;
+    }
+
+    /**
+     * Is it worth trying again later?
+     * @return TRUE if it's a 4xx code, a connection failure or a rate limit
+     */
+    public boolean temporary() {
+        final int code = this.code();
+        final boolean temporary;
+        if (code == 0) {
+            temporary = this.disconnected();
+        } else {
+            temporary = code >= 400 && code < 500;
+        }
+        return temporary;
+    }
+
+    /**
+     * Is there a connection failure or a rejection in the chain?
+     * @return TRUE if so
+     */
+    private boolean disconnected() {
+        boolean found = false;
+        for (final Throwable cause : this.chain()) {
+            if (cause instanceof SocketException
+                || cause instanceof SocketTimeoutException
+                || cause instanceof UnknownHostException
+                || cause instanceof EOFException
+                || cause instanceof MailConnectException
+                || cause instanceof PostThrottled.Rejected) {
+                found = true;
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * All causes, including the failure itself and exceptions chained
+     * with {@link javax.mail.MessagingException#getNextException()}.
+     * @return Causes
+     */
+    private Set<Throwable> chain() {
+        final Set<Throwable> all = Collections.newSetFromMap(
+            new IdentityHashMap<>()
+        );
+        Throwable cause = this.error;
+        while (cause != null && all.add(cause)) {
+            cause = cause.getCause();
+        }
+        return all;
+    }
+}
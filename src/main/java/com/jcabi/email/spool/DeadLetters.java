@@ -0,0 +1,813 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.spool;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import javax.mail.internet.MimeMessage;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Store of messages that failed to send.
+ *
+ * <p>Letters are appended to segment files, each one with an index
+ * file of fixed-size entries: time, SMTP code, a bloom filter of
+ * recipient domains, and the position of the letter. Queries are
+ * answered by the index, reading only the letters that match:
+ *
+ * <pre> try (DeadLetters letters = new DeadLetters(Paths.get("/var/dlq"))) {
+ *   int sent = letters.replay(
+ *     new DeadLetters.Query()
+ *       .since(Instant.parse("2024-01-01T00:00:00Z"))
+ *       .domain("gmail.com"),
+ *     new Postman.Default(wire),
+ *     16
+ *   );
+ * }</pre>
+ *
+ * <p>Letters sent by {@link #replay(DeadLetters.Query, Postman, int)}
+ * are marked in the index and are not replayed again. Letters are
+ * written without forcing them to disk, so they survive the death of
+ * the JVM, but not of the operating system.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "dir", "size" })
+@EqualsAndHashCode(of = { "dir", "size" })
+public final class DeadLetters implements Closeable {
+
+    /**
+     * Size of one index entry.
+     */
+    private static final int ENTRY = 32;
+
+    /**
+     * Flag of a letter that was replayed.
+     */
+    private static final short REPLAYED = 1;
+
+    /**
+     * Suffix of data files.
+     */
+    private static final String DATA = ".dlq";
+
+    /**
+     * Suffix of index files.
+     */
+    private static final String INDEX = ".idx";
+
+    /**
+     * Directory.
+     */
+    private final transient Path dir;
+
+    /**
+     * Maximum size of a data file.
+     */
+    private final transient long size;
+
+    /**
+     * Segments, in order.
+     */
+    private final transient List<DeadLetters.Segment> segments;
+
+    /**
+     * Ctor, with 64Mb segments.
+     * @param path Directory
+     * @throws IOException If fails
+     */
+    public DeadLetters(final Path path) throws IOException {
+        this(path, 64L << 20);
+    }
+
+    /**
+     * Ctor.
+     * @param path Directory
+     * @param bytes Maximum size of a segment, in bytes
+     * @throws IOException If fails
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    public DeadLetters(final Path path, final long bytes) throws IOException {
+        this.dir = Files.createDirectories(path);
+        this.size = bytes;
+        this.segments = new CopyOnWriteArrayList<>(this.open());
+    }
+
+    /**
+     * Store a letter.
+     * @param letter The letter
+     * @throws IOException If fails
+     */
+    public void store(final DeadLetters.Letter letter) throws IOException {
+        final byte[] record = DeadLetters.encode(letter);
+        final ByteBuffer entry = ByteBuffer.allocate(DeadLetters.ENTRY);
+        entry.putLong(letter.time);
+        entry.putLong(DeadLetters.bloom(letter.domains));
+        synchronized (this.segments) {
+            DeadLetters.Segment seg =
+                this.segments.get(this.segments.size() - 1);
+            if (seg.end > 0L && seg.end + record.length > this.size) {
+                seg.data.force(false);
+                seg.index.force(false);
+                seg = this.create(seg.id + 1L);
+                this.segments.add(seg);
+            }
+            entry.putLong(seg.end);
+            entry.putInt(record.length);
+            entry.putShort((short) letter.code);
+            entry.putShort((short) 0);
+            entry.flip();
+            DeadLetters.write(seg.data, ByteBuffer.wrap(record), seg.end);
+            DeadLetters.write(seg.index, entry, seg.index.size());
+            seg.end += record.length;
+        }
+    }
+
+    /**
+     * Find letters.
+     * @param query Query
+     * @return Letters, in the order they were stored
+     * @throws IOException If fails
+     */
+    public List<DeadLetters.Letter> find(final DeadLetters.Query query)
+        throws IOException {
+        final List<DeadLetters.Letter> found = new ArrayList<>(0);
+        for (final DeadLetters.Segment seg : this.segments) {
+            for (final long pos : seg.select(query)) {
+                final DeadLetters.Letter letter = seg.letter(pos);
+                if (query.accepts(letter)) {
+                    found.add(letter);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Send matching letters again, in parallel.
+     * @param query Query
+     * @param postman Postman to send through
+     * @param threads How many threads to use
+     * @return How many letters were sent
+     * @throws IOException If fails
+     */
+    public int replay(final DeadLetters.Query query, final Postman postman,
+        final int threads) throws IOException {
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            for (final DeadLetters.Segment seg : this.segments) {
+                for (final long pos : seg.select(query)) {
+                    service.execute(
+                        () -> {
+                            try {
+                                final DeadLetters.Letter letter =
+                                    seg.letter(pos);
+                                if (query.accepts(letter)) {
+                                    postman.send(letter::message);
+                                    seg.replayed(pos);
+                                    sent.incrementAndGet();
+                                }
+                            } catch (final IOException ex) {
+                                failed.incrementAndGet();
+                                Logger.debug(
+                                    this, "replay failed: %s", ex.getMessage()
+                                );
+                            }
+                        }
+                    );
+                }
+            }
+        } finally {
+            service.shutdown();
+        }
+        try {
+            while (!service.awaitTermination(1L, TimeUnit.MINUTES)) {
+                Logger.info(this, "%d letter(s) replayed so far", sent.get());
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            service.shutdownNow();
+            throw new IOException(ex);
+        }
+        Logger.info(
+            this, "%d letter(s) replayed, %d failed", sent.get(), failed.get()
+        );
+        return sent.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.segments) {
+            for (final DeadLetters.Segment seg : this.segments) {
+                seg.data.force(false);
+                seg.index.force(false);
+                seg.data.close();
+                seg.index.close();
+            }
+        }
+    }
+
+    /**
+     * Open existing segments, or create the first one.
+     * @return Segments
+     * @throws IOException If fails
+     */
+    private List<DeadLetters.Segment> open() throws IOException {
+        final TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+            this.dir, "*".concat(DeadLetters.DATA)
+        )) {
+            for (final Path file : stream) {
+                final String name = file.getFileName().toString();
+                files.put(
+                    Long.parseLong(
+                        name.substring(
+                            0, name.length() - DeadLetters.DATA.length()
+                        )
+                    ),
+                    file
+                );
+            }
+        }
+        final List<DeadLetters.Segment> list = new ArrayList<>(files.size());
+        for (final Long id : files.keySet()) {
+            list.add(this.create(id));
+        }
+        if (list.isEmpty()) {
+            list.add(this.create(0L));
+        }
+        return list;
+    }
+
+    /**
+     * Open or create a segment.
+     * @param id ID of it
+     * @return Segment
+     * @throws IOException If fails
+     */
+    private DeadLetters.Segment create(final long id) throws IOException {
+        final String name = String.format("%020d", id);
+        final DeadLetters.Segment seg = new DeadLetters.Segment(
+            id,
+            FileChannel.open(
+                this.dir.resolve(name.concat(DeadLetters.DATA)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            ),
+            FileChannel.open(
+                this.dir.resolve(name.concat(DeadLetters.INDEX)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            )
+        );
+        seg.recover();
+        return seg;
+    }
+
+    /**
+     * Encode a letter.
+     * @param letter The letter
+     * @return Bytes: length, CRC and the content
+     * @throws IOException If fails
+     */
+    private static byte[] encode(final DeadLetters.Letter letter)
+        throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeLong(letter.time);
+            out.writeInt(letter.code);
+            DeadLetters.text(out, letter.reason);
+            out.writeInt(letter.domains.size());
+            for (final String domain : letter.domains) {
+                DeadLetters.text(out, domain);
+            }
+            out.writeInt(letter.bytes.length);
+            out.write(letter.bytes);
+        }
+        final byte[] content = body.toByteArray();
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        return ByteBuffer.allocate(content.length + 2 * Integer.BYTES)
+            .putInt(content.length)
+            .putInt((int) crc.getValue())
+            .put(content)
+            .array();
+    }
+
+    /**
+     * Write a text of any length, as its length and UTF-8 bytes.
+     * @param out Output
+     * @param text The text
+     * @throws IOException If fails
+     */
+    private static void text(final DataOutputStream out, final String text)
+        throws IOException {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a text written by {@link #text(DataOutputStream, String)}.
+     * @param in Input
+     * @return The text
+     * @throws IOException If fails
+     */
+    private static String text(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Bloom filter of domains, in 64 bits.
+     * @param domains Domains
+     * @return Bits
+     */
+    private static long bloom(final Iterable<String> domains) {
+        long bits = 0L;
+        for (final String domain : domains) {
+            bits |= DeadLetters.bloom(domain);
+        }
+        return bits;
+    }
+
+    /**
+     * Bloom bits of one domain.
+     * @param domain Domain
+     * @return Bits
+     */
+    private static long bloom(final String domain) {
+        final int hash = domain.toLowerCase(Locale.ENGLISH).hashCode();
+        return 1L << (hash & 63) | 1L << (hash * 0x9E3779B9 >>> 26);
+    }
+
+    /**
+     * Write all bytes at the position.
+     * @param channel Channel
+     * @param buf Bytes
+     * @param pos Position
+     * @throws IOException If fails
+     */
+    private static void write(final FileChannel channel, final ByteBuffer buf,
+        final long pos) throws IOException {
+        long at = pos;
+        while (buf.hasRemaining()) {
+            at += channel.write(buf, at);
+        }
+    }
+
+    /**
+     * Read exactly this number of bytes.
+     * @param channel Channel
+     * @param pos Position
+     * @param len How many
+     * @return Bytes
+     * @throws IOException If fails
+     */
+    private static ByteBuffer read(final FileChannel channel, final long pos,
+        final int len) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(len);
+        long at = pos;
+        while (buf.hasRemaining()) {
+            final int got = channel.read(buf, at);
+            if (got < 0) {
+                throw new IOException(
+                    String.format("unexpected end of file at %d", at)
+                );
+            }
+            at += got;
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Letter, a message that failed.
+     * @since 2.0
+     */
+    @ToString(of = { "time", "code", "reason", "domains" })
+    @EqualsAndHashCode(of = { "time", "code", "reason", "domains", "bytes" })
+    public static final class Letter {
+
+        /**
+         * When it failed, msec since epoch.
+         */
+        private final transient long time;
+
+        /**
+         * SMTP code, or zero.
+         */
+        private final transient int code;
+
+        /**
+         * Description of the failure.
+         */
+        private final transient String reason;
+
+        /**
+         * Recipient domains.
+         */
+        private final transient Collection<String> domains;
+
+        /**
+         * The message, as sent over SMTP.
+         */
+        private final transient byte[] bytes;
+
+        /**
+         * Ctor.
+         * @param when When it failed
+         * @param smtp SMTP code, or zero
+         * @param why Description of the failure
+         * @param dmns Recipient domains
+         * @param msg The message, as sent over SMTP
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        public Letter(final Instant when, final int smtp, final String why,
+            final Collection<String> dmns, final byte[] msg) {
+            this(when.toEpochMilli(), smtp, why, dmns, msg);
+        }
+
+        /**
+         * Ctor.
+         * @param when When it failed, msec since epoch
+         * @param smtp SMTP code, or zero
+         * @param why Description of the failure
+         * @param dmns Recipient domains
+         * @param msg The message, as sent over SMTP
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private Letter(final long when, final int smtp, final String why,
+            final Collection<String> dmns, final byte[] msg) {
+            this.time = when;
+            this.code = smtp;
+            this.reason = why;
+            this.domains = Collections.unmodifiableCollection(dmns);
+            this.bytes = msg;
+        }
+
+        /**
+         * When it failed.
+         * @return Time
+         */
+        public Instant time() {
+            return Instant.ofEpochMilli(this.time);
+        }
+
+        /**
+         * SMTP code of the failure.
+         * @return Code or zero if there was no code
+         */
+        public int code() {
+            return this.code;
+        }
+
+        /**
+         * Description of the failure.
+         * @return Text
+         */
+        public String reason() {
+            return this.reason;
+        }
+
+        /**
+         * Recipient domains.
+         * @return Domains
+         */
+        public Collection<String> domains() {
+            return this.domains;
+        }
+
+        /**
+         * The message.
+         * @return Message parsed from the stored bytes
+         * @throws IOException If fails
+         */
+        public MimeMessage message() throws IOException {
+            return new Envelope.Raw(this.bytes).unwrap();
+        }
+
+        /**
+         * Decode a letter.
+         * @param content Bytes, without length and CRC
+         * @return Letter
+         * @throws IOException If fails
+         */
+        private static DeadLetters.Letter decode(final byte[] content)
+            throws IOException {
+            try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(content)
+            )) {
+                final long time = in.readLong();
+                final int code = in.readInt();
+                final String reason = DeadLetters.text(in);
+                final int total = in.readInt();
+                final List<String> domains = new ArrayList<>(total);
+                for (int idx = 0; idx < total; ++idx) {
+                    domains.add(DeadLetters.text(in));
+                }
+                final byte[] msg = new byte[in.readInt()];
+                in.readFully(msg);
+                return new DeadLetters.Letter(time, code, reason, domains, msg);
+            }
+        }
+    }
+
+    /**
+     * Query of letters.
+     *
+     * <p>By default it matches all letters that were not replayed yet.
+     *
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "from", "till", "codes", "domain" })
+    public static final class Query {
+
+        /**
+         * Earliest time, msec.
+         */
+        private final transient long from;
+
+        /**
+         * Latest time, msec, exclusive.
+         */
+        private final transient long till;
+
+        /**
+         * SMTP codes to match, or empty for all.
+         */
+        private final transient Collection<Integer> codes;
+
+        /**
+         * Recipient domain, or empty string for all.
+         */
+        private final transient String domain;
+
+        /**
+         * Ctor.
+         */
+        public Query() {
+            this(Long.MIN_VALUE, Long.MAX_VALUE, Collections.emptySet(), "");
+        }
+
+        /**
+         * Ctor.
+         * @param start Earliest time, msec
+         * @param end Latest time, msec, exclusive
+         * @param smtp SMTP codes to match, or empty for all
+         * @param dmn Recipient domain, or empty string for all
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private Query(final long start, final long end,
+            final Collection<Integer> smtp, final String dmn) {
+            this.from = start;
+            this.till = end;
+            this.codes = smtp;
+            this.domain = dmn;
+        }
+
+        /**
+         * Letters that failed at this time or later.
+         * @param time Time
+         * @return New query
+         */
+        public DeadLetters.Query since(final Instant time) {
+            return new DeadLetters.Query(
+                time.toEpochMilli(), this.till, this.codes, this.domain
+            );
+        }
+
+        /**
+         * Letters that failed before this time.
+         * @param time Time
+         * @return New query
+         */
+        public DeadLetters.Query until(final Instant time) {
+            return new DeadLetters.Query(
+                this.from, time.toEpochMilli(), this.codes, this.domain
+            );
+        }
+
+        /**
+         * Letters that failed with one of these SMTP codes.
+         * @param smtp Codes, zero for failures without a code
+         * @return New query
+         */
+        public DeadLetters.Query codes(final Integer... smtp) {
+            final List<Integer> list = new ArrayList<>(this.codes);
+            Collections.addAll(list, smtp);
+            return new DeadLetters.Query(
+                this.from, this.till, list, this.domain
+            );
+        }
+
+        /**
+         * Letters to this recipient domain.
+         * @param dmn Domain
+         * @return New query
+         */
+        public DeadLetters.Query domain(final String dmn) {
+            return new DeadLetters.Query(
+                this.from, this.till, this.codes,
+                dmn.toLowerCase(Locale.ENGLISH)
+            );
+        }
+
+        /**
+         * Does the index entry match?
+         * @param entry Index entry
+         * @return TRUE if the letter may match
+         */
+        private boolean matches(final ByteBuffer entry) {
+            final int pos = entry.position();
+            final long time = entry.getLong(pos);
+            final long bloom = entry.getLong(pos + Long.BYTES);
+            final int code = entry.getShort(pos + 28);
+            final short flags = entry.getShort(pos + 30);
+            final long bits = DeadLetters.bloom(this.domain);
+            return time >= this.from && time < this.till
+                && (flags & DeadLetters.REPLAYED) == 0
+                && (this.codes.isEmpty() || this.codes.contains(code))
+                && (this.domain.isEmpty() || (bloom & bits) == bits);
+        }
+
+        /**
+         * Does the letter match, after the index said it may?
+         * @param letter The letter
+         * @return TRUE if so
+         */
+        private boolean accepts(final DeadLetters.Letter letter) {
+            boolean found = this.domain.isEmpty();
+            for (final String dmn : letter.domains) {
+                if (dmn.equalsIgnoreCase(this.domain)) {
+                    found = true;
+                    break;
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Segment: data and index files.
+     * @since 2.0
+     */
+    private static final class Segment {
+
+        /**
+         * ID.
+         */
+        private final transient long id;
+
+        /**
+         * Data file.
+         */
+        private final transient FileChannel data;
+
+        /**
+         * Index file.
+         */
+        private final transient FileChannel index;
+
+        /**
+         * End of the data.
+         */
+        private transient long end;
+
+        /**
+         * Ctor.
+         * @param num ID
+         * @param dat Data file
+         * @param idx Index file
+         */
+        Segment(final long num, final FileChannel dat, final FileChannel idx) {
+            this.id = num;
+            this.data = dat;
+            this.index = idx;
+        }
+
+        /**
+         * Drop index entries without data, and data without index
+         * entries, left by a crash.
+         * @throws IOException If fails
+         */
+        void recover() throws IOException {
+            long entries = this.index.size() / DeadLetters.ENTRY;
+            long last = 0L;
+            while (entries > 0L) {
+                final ByteBuffer entry = DeadLetters.read(
+                    this.index, (entries - 1L) * DeadLetters.ENTRY,
+                    DeadLetters.ENTRY
+                );
+                last = entry.getLong(16) + entry.getInt(24);
+                if (last <= this.data.size()) {
+                    break;
+                }
+                --entries;
+                last = 0L;
+            }
+            this.index.truncate(entries * DeadLetters.ENTRY);
+            this.data.truncate(last);
+            this.end = last;
+        }
+
+        /**
+         * Positions of index entries that may match.
+         * @param query Query
+         * @return Positions of entries in the index
+         * @throws IOException If fails
+         */
+        List<Long> select(final DeadLetters.Query query) throws IOException {
+            final long total = this.index.size();
+            final List<Long> found = new ArrayList<>(0);
+            if (total > 0L) {
+                final ByteBuffer all = DeadLetters.read(
+                    this.index, 0L, (int) total
+                );
+                for (long pos = 0L; pos < total; pos += DeadLetters.ENTRY) {
+                    all.position((int) pos);
+                    if (query.matches(all)) {
+                        found.add(pos);
+                    }
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Read the letter of this index entry.
+         * @param pos Position of the entry in the index
+         * @return Letter
+         * @throws IOException If fails
+         */
+        DeadLetters.Letter letter(final long pos) throws IOException {
+            final ByteBuffer entry = DeadLetters.read(
+                this.index, pos, DeadLetters.ENTRY
+            );
+            final ByteBuffer record = DeadLetters.read(
+                this.data, entry.getLong(16), entry.getInt(24)
+            );
+            final int len = record.getInt();
+            final int sum = record.getInt();
+            final byte[] content = new byte[len];
+            record.get(content);
+            final CRC32 crc = new CRC32();
+            crc.update(content, 0, content.length);
+            if ((int) crc.getValue() != sum) {
+                throw new IOException(
+                    String.format(
+                        "broken letter at %d in segment #%d",
+                        entry.getLong(16), this.id
+                    )
+                );
+            }
+            return DeadLetters.Letter.decode(content);
+        }
+
+        /**
+         * Mark the letter of this index entry as replayed.
+         * @param pos Position of the entry in the index
+         * @throws IOException If fails
+         */
+        void replayed(final long pos) throws IOException {
+            final ByteBuffer flags = ByteBuffer.allocate(Short.BYTES);
+            flags.putShort(DeadLetters.REPLAYED);
+            flags.flip();
+            DeadLetters.write(this.index, flags, pos + 30L);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.spool;
+
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Set of keys seen recently, kept on disk.
+ *
+ * <p>Keys are hashed with SHA-256 and only the first 128 bits are kept,
+ * in memory and in an append-only file, together with the time they were
+ * confirmed. Keys older than the given time-to-live are forgotten; the
+ * file is compacted when most of its records are repeated, or once per
+ * time-to-live, to drop expired ones:
+ *
+ * <pre> try (Ledger ledger = new Ledger(Paths.get("/var/email/ledger"))) {
+ *   if (ledger.reserve(key)) {
+ *     try {
+ *       // do the work
+ *       ledger.confirm(key);
+ *     } catch (final IOException ex) {
+ *       ledger.release(key);
+ *     }
+ *   }
+ * }</pre>
+ *
+ * <p>A reserved key is not written to disk until it is confirmed, but
+ * other threads can't reserve it meanwhile. Records are written without
+ * forcing them to disk, so they survive the death of the JVM, but not
+ * of the operating system.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "file", "ttl" })
+@EqualsAndHashCode(of = { "file", "ttl" })
+public final class Ledger implements Closeable {
+
+    /**
+     * Size of a record: two halves of the hash and the time.
+     */
+    private static final int RECORD = 3 * Long.BYTES;
+
+    /**
+     * Value of a key reserved, but not confirmed yet.
+     */
+    private static final long RESERVED = -1L;
+
+    /**
+     * The file.
+     */
+    private final transient Path file;
+
+    /**
+     * Time to live, in msec.
+     */
+    private final transient long ttl;
+
+    /**
+     * Keys and the time they were confirmed.
+     */
+    private final transient Map<Ledger.Key, Long> keys;
+
+    /**
+     * Clock.
+     */
+    private final transient Clock clock;
+
+    /**
+     * Lock of writes.
+     */
+    private final transient Object writes;
+
+    /**
+     * The file, open.
+     */
+    private transient FileChannel channel;
+
+    /**
+     * Records in the file.
+     */
+    private transient long records;
+
+    /**
+     * When the file was compacted last time.
+     */
+    private transient long compacted;
+
+    /**
+     * Ctor, with a week of time to live.
+     * @param path The file
+     * @throws IOException If fails
+     */
+    public Ledger(final Path path) throws IOException {
+        this(path, TimeUnit.DAYS.toMillis(7L));
+    }
+
+    /**
+     * Ctor.
+     * @param path The file
+     * @param msec Time to live, in msec
+     * @throws IOException If fails
+     */
+    public Ledger(final Path path, final long msec) throws IOException {
+        this(path, msec, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     * @param path The file
+     * @param msec Time to live, in msec
+     * @param clck Clock
+     * @throws IOException If fails
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    Ledger(final Path path, final long msec, final Clock clck)
+        throws IOException {
+        this.file = path;
+        this.ttl = msec;
+        this.clock = clck;
+        this.keys = new ConcurrentHashMap<>(0);
+        this.writes = new Object();
+        this.load();
+    }
+
+    /**
+     * Reserve the key, if it wasn't seen.
+     * @param key The key
+     * @return TRUE if reserved, FALSE if it's seen or reserved already
+     */
+    public boolean reserve(final String key) {
+        final long now = this.clock.millis();
+        final AtomicBoolean won = new AtomicBoolean();
+        this.keys.compute(
+            Ledger.Key.of(key),
+            (hash, before) -> {
+                final Long after;
+                if (before == null || this.expired(before, now)) {
+                    won.set(true);
+                    after = Ledger.RESERVED;
+                } else {
+                    after = before;
+                }
+                return after;
+            }
+        );
+        return won.get();
+    }
+
+    /**
+     * Confirm the key, it's seen now.
+     * @param key The key
+     * @throws IOException If fails
+     */
+    public void confirm(final String key) throws IOException {
+        final Ledger.Key hash = Ledger.Key.of(key);
+        final long now = this.clock.millis();
+        final ByteBuffer record = ByteBuffer.allocate(Ledger.RECORD);
+        record.putLong(hash.high).putLong(hash.low).putLong(now);
+        record.flip();
+        synchronized (this.writes) {
+            this.keys.put(hash, now);
+            while (record.hasRemaining()) {
+                this.channel.write(record);
+            }
+            ++this.records;
+            if (this.records > 1024L
+                && (this.records > 2L * this.keys.size()
+                || now - this.compacted > this.ttl)) {
+                this.compact();
+            }
+        }
+    }
+
+    /**
+     * Release the key reserved, it wasn't seen after all.
+     * @param key The key
+     */
+    public void release(final String key) {
+        this.keys.remove(Ledger.Key.of(key), Ledger.RESERVED);
+    }
+
+    /**
+     * Is it seen, or reserved?
+     * @param key The key
+     * @return TRUE if so
+     */
+    public boolean contains(final String key) {
+        final Long time = this.keys.get(Ledger.Key.of(key));
+        return time != null
+            && !this.expired(time, this.clock.millis());
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.writes) {
+            this.channel.force(false);
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Rewrite the file with live keys only.
+     * @throws IOException If fails
+     */
+    private void compact() throws IOException {
+        final long now = this.clock.millis();
+        this.keys.values().removeIf(time -> this.expired(time, now));
+        final Path temp = this.file.resolveSibling(
+            this.file.getFileName().toString().concat(".tmp")
+        );
+        long total = 0L;
+        try (FileChannel out = FileChannel.open(
+            temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            final ByteBuffer buf = ByteBuffer.allocate(Ledger.RECORD * 1024);
+            for (final Map.Entry<Ledger.Key, Long> entry
+                : this.keys.entrySet()) {
+                if (entry.getValue() != Ledger.RESERVED) {
+                    if (!buf.hasRemaining()) {
+                        Ledger.drain(out, buf);
+                    }
+                    buf.putLong(entry.getKey().high)
+                        .putLong(entry.getKey().low)
+                        .putLong(entry.getValue());
+                    ++total;
+                }
+            }
+            Ledger.drain(out, buf);
+            out.force(false);
+        }
+        this.channel.close();
+        Files.move(
+            temp, this.file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+        this.channel = Ledger.open(this.file);
+        Logger.debug(
+            this, "compacted from %d to %d record(s)", this.records, total
+        );
+        this.records = total;
+        this.compacted = now;
+    }
+
+    /**
+     * Read the file.
+     * @throws IOException If fails
+     */
+    private void load() throws IOException {
+        final long now = this.clock.millis();
+        this.channel = Ledger.open(this.file);
+        final long size = this.channel.size() / Ledger.RECORD * Ledger.RECORD;
+        final ByteBuffer buf = ByteBuffer.allocate(Ledger.RECORD * 1024);
+        long pos = 0L;
+        while (pos < size) {
+            buf.clear();
+            buf.limit((int) Math.min(buf.capacity(), size - pos));
+            while (buf.hasRemaining()) {
+                this.channel.read(buf, pos + buf.position());
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                final Ledger.Key hash = new Ledger.Key(
+                    buf.getLong(), buf.getLong()
+                );
+                final long time = buf.getLong();
+                if (!this.expired(time, now)) {
+                    this.keys.merge(hash, time, Math::max);
+                }
+            }
+            pos += buf.limit();
+        }
+        this.channel.truncate(size);
+        this.channel.position(size);
+        this.records = size / Ledger.RECORD;
+        this.compacted = now;
+        Logger.debug(
+            this, "%d live key(s) of %d in %s",
+            this.keys.size(), this.records, this.file
+        );
+    }
+
+    /**
+     * Is this time expired?
+     * @param time Time the key was confirmed, or RESERVED
+     * @param now Current time
+     * @return TRUE if so
+     */
+    private boolean expired(final long time, final long now) {
+        return time != Ledger.RESERVED && time + this.ttl <= now;
+    }
+
+    /**
+     * Open the file, for reading and appending.
+     * @param path The file
+     * @return Channel
+     * @throws IOException If fails
+     */
+    private static FileChannel open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        channel.position(channel.size());
+        return channel;
+    }
+
+    /**
+     * Write the buffer out and clear it.
+     * @param out Channel
+     * @param buf Buffer
+     * @throws IOException If fails
+     */
+    private static void drain(final FileChannel out, final ByteBuffer buf)
+        throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+        buf.clear();
+    }
+
+    /**
+     * Key, the first 128 bits of its SHA-256.
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "high", "low" })
+    private static final class Key {
+
+        /**
+         * High bits.
+         */
+        private final transient long high;
+
+        /**
+         * Low bits.
+         */
+        private final transient long low;
+
+        /**
+         * Ctor.
+         * @param first High bits
+         * @param second Low bits
+         */
+        Key(final long first, final long second) {
+            this.high = first;
+            this.low = second;
+        }
+
+        /**
+         * Hash the key.
+         * @param key The key
+         * @return Hash
+         */
+        static Ledger.Key of(final String key) {
+            try {
+                final ByteBuffer hash = ByteBuffer.wrap(
+                    MessageDigest.getInstance("SHA-256").digest(
+                        key.getBytes(StandardCharsets.UTF_8)
+                    )
+                );
+                return new Ledger.Key(hash.getLong(), hash.getLong());
+            } catch (final NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
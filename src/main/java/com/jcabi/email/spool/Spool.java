@@ -0,0 +1,662 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.spool;
+
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Durable queue of byte arrays, in memory-mapped files.
+ *
+ * <p>It's an append-only log, split into segment files of the given
+ * size. Every record is its length, its CRC32 and its bytes.
+ * {@link #append(byte[])} returns only when the record is on disk,
+ * but many threads appending at the same time share one
+ * {@link MappedByteBuffer#force()}: the first of them forces all
+ * records written so far, while the others wait for it (group commit).
+ * If forcing fails, every record not on disk yet, and every one appended
+ * after it, fails with {@link IOException}: the spool can't tell anymore
+ * what reached the disk.
+ *
+ * <p>There is one reader, which takes records with {@link #next()}
+ * and confirms them with {@link #ack(Spool.Entry)}. Confirmed position
+ * is kept in the {@code checkpoint} file, and segments read completely
+ * are deleted:
+ *
+ * <pre> try (Spool spool = new Spool(Paths.get("/var/spool/email"))) {
+ *   spool.append(bytes);
+ *   Spool.Entry entry = spool.next();
+ *   // use entry.bytes()
+ *   spool.ack(entry);
+ * }</pre>
+ *
+ * <p>When the directory is opened again, the last segment is scanned
+ * and the records with wrong CRC at its end, which were being written
+ * when the JVM died, are erased. Records after the checkpoint are
+ * given to the reader again, so each record is read at least once.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "dir", "size" })
+@EqualsAndHashCode(of = { "dir", "size" })
+public final class Spool implements Closeable {
+
+    /**
+     * Size of record header: length and CRC.
+     */
+    private static final int HEADER = 8;
+
+    /**
+     * Suffix of segment files.
+     */
+    private static final String SUFFIX = ".seg";
+
+    /**
+     * Directory.
+     */
+    private final transient Path dir;
+
+    /**
+     * Size of a segment, in bytes.
+     */
+    private final transient int size;
+
+    /**
+     * Live segments, by ID.
+     */
+    private final transient NavigableMap<Long, Spool.Segment> segments;
+
+    /**
+     * Checkpoint: segment ID and offset of the next record to read.
+     */
+    private final transient MappedByteBuffer checkpoint;
+
+    /**
+     * Forces buffers to disk.
+     */
+    private final transient Spool.Disk disk;
+
+    /**
+     * Lock of writers.
+     */
+    private final transient Object writes;
+
+    /**
+     * Lock of group commit.
+     */
+    private final transient Object commits;
+
+    /**
+     * Lock the reader waits on.
+     */
+    private final transient Object arrivals;
+
+    /**
+     * Segment being written.
+     */
+    private transient Spool.Segment head;
+
+    /**
+     * Records written.
+     */
+    private transient long written;
+
+    /**
+     * Records forced to disk.
+     */
+    private transient long committed;
+
+    /**
+     * Is somebody forcing now?
+     */
+    private transient boolean forcing;
+
+    /**
+     * Failure of forcing, or NULL if it never failed.
+     */
+    private transient IOException failure;
+
+    /**
+     * Segment the reader is in.
+     */
+    private transient long segment;
+
+    /**
+     * Offset of the reader in its segment.
+     */
+    private transient int offset;
+
+    /**
+     * Is it closed?
+     */
+    private volatile boolean closed;
+
+    /**
+     * Ctor, with 64Mb segments.
+     * @param path Directory
+     * @throws IOException If fails
+     */
+    public Spool(final Path path) throws IOException {
+        this(path, 64 << 20);
+    }
+
+    /**
+     * Ctor.
+     * @param path Directory
+     * @param bytes Size of a segment, in bytes
+     * @throws IOException If fails
+     */
+    public Spool(final Path path, final int bytes) throws IOException {
+        this(path, bytes, Spool.Disk.MAPPED);
+    }
+
+    /**
+     * Ctor.
+     * @param path Directory
+     * @param bytes Size of a segment, in bytes
+     * @param dsk Forces buffers to disk
+     * @throws IOException If fails
+     * @checkstyle ConstructorsCodeFreeCheck (30 lines)
+     */
+    Spool(final Path path, final int bytes, final Spool.Disk dsk)
+        throws IOException {
+        this.dir = Files.createDirectories(path);
+        this.size = bytes;
+        this.disk = dsk;
+        this.segments = new ConcurrentSkipListMap<>();
+        this.writes = new Object();
+        this.commits = new Object();
+        this.arrivals = new Object();
+        this.checkpoint = Spool.map(
+            path.resolve("checkpoint"), 2 * Long.BYTES
+        );
+        this.recover();
+    }
+
+    /**
+     * Append a record and wait until it's on disk.
+     * @param bytes The record
+     * @throws IOException If fails
+     */
+    public void append(final byte[] bytes) throws IOException {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        final long mine;
+        synchronized (this.writes) {
+            if (this.closed) {
+                throw new IOException("spool is closed");
+            }
+            if (this.head.limit + Spool.HEADER + bytes.length
+                > this.head.buffer.capacity()) {
+                this.roll(Spool.HEADER + bytes.length);
+            }
+            final int pos = this.head.limit;
+            final ByteBuffer buf = this.head.buffer.duplicate();
+            buf.position(pos + Integer.BYTES);
+            buf.putInt((int) crc.getValue());
+            buf.put(bytes);
+            buf.putInt(pos, bytes.length);
+            this.head.limit = buf.position();
+            ++this.written;
+            mine = this.written;
+        }
+        this.commit(mine);
+    }
+
+    /**
+     * Take the next record, waiting for it, if necessary.
+     *
+     * <p>Only one thread may read.
+     *
+     * @return The record
+     * @throws InterruptedException If interrupted while waiting
+     * @throws IOException If fails
+     */
+    public Spool.Entry next() throws InterruptedException, IOException {
+        Spool.Entry entry = null;
+        while (entry == null) {
+            if (this.closed) {
+                throw new IOException("spool is closed");
+            }
+            final Spool.Segment seg = this.segments.get(this.segment);
+            final boolean sealed = seg.sealed;
+            final int end = seg.durable.get();
+            final int len;
+            if (this.offset + Spool.HEADER <= end) {
+                len = seg.buffer.getInt(this.offset);
+            } else {
+                len = 0;
+            }
+            if (len > 0 && this.offset + Spool.HEADER + len <= end) {
+                entry = this.read(seg, len);
+            } else if (sealed) {
+                this.segment = this.segments.higherKey(this.segment);
+                this.offset = 0;
+            } else {
+                synchronized (this.arrivals) {
+                    if (seg.durable.get() == end && !seg.sealed) {
+                        this.arrivals.wait(1000L);
+                    }
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Confirm that this record and all records before it are done.
+     *
+     * <p>Segments read completely are deleted.
+     *
+     * @param entry The record
+     */
+    public void ack(final Spool.Entry entry) {
+        this.checkpoint.putLong(0, entry.segment);
+        this.checkpoint.putLong(Long.BYTES, entry.next);
+        while (this.segments.firstKey() < entry.segment) {
+            final Map.Entry<Long, Spool.Segment> first =
+                this.segments.pollFirstEntry();
+            this.checkpoint.force();
+            this.delete(first.getKey());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.writes) {
+            this.closed = true;
+            this.head.buffer.force();
+            this.checkpoint.force();
+        }
+        synchronized (this.arrivals) {
+            this.arrivals.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until the record is on disk, or force it there.
+     * @param mine Number of the record
+     * @throws IOException If it's not on disk and never will be
+     */
+    private void commit(final long mine) throws IOException {
+        boolean done = false;
+        while (!done) {
+            boolean leader = false;
+            synchronized (this.commits) {
+                if (this.committed >= mine) {
+                    done = true;
+                } else if (this.failure != null) {
+                    throw new IOException(
+                        "the spool failed to force records to disk",
+                        this.failure
+                    );
+                } else if (this.forcing) {
+                    try {
+                        this.commits.wait();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(ex);
+                    }
+                } else {
+                    this.forcing = true;
+                    leader = true;
+                }
+            }
+            if (leader) {
+                this.force();
+            }
+        }
+    }
+
+    /**
+     * Force everything written so far, as a leader of group commit.
+     */
+    private void force() {
+        final Spool.Segment seg;
+        final int limit;
+        final long target;
+        synchronized (this.writes) {
+            seg = this.head;
+            limit = seg.limit;
+            target = this.written;
+        }
+        boolean forced = false;
+        try {
+            this.disk.force(seg.buffer);
+            seg.durable.accumulateAndGet(limit, Math::max);
+            forced = true;
+        } catch (final IOException ex) {
+            synchronized (this.commits) {
+                this.failure = ex;
+            }
+        } finally {
+            synchronized (this.commits) {
+                if (forced) {
+                    this.committed = Math.max(this.committed, target);
+                }
+                this.forcing = false;
+                this.commits.notifyAll();
+            }
+        }
+        if (forced) {
+            synchronized (this.arrivals) {
+                this.arrivals.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Seal the head and start a new segment.
+     * @param need Bytes needed for the record
+     * @throws IOException If fails
+     */
+    private void roll(final int need) throws IOException {
+        final Spool.Segment old = this.head;
+        this.disk.force(old.buffer);
+        old.durable.accumulateAndGet(old.limit, Math::max);
+        final long next = old.id + 1L;
+        this.head = new Spool.Segment(
+            next, Spool.map(this.file(next), Math.max(this.size, need))
+        );
+        this.segments.put(next, this.head);
+        old.sealed = true;
+        synchronized (this.arrivals) {
+            this.arrivals.notifyAll();
+        }
+    }
+
+    /**
+     * Read the record at the offset of the reader.
+     * @param seg Segment
+     * @param len Length of the record
+     * @return The record or NULL if it's broken
+     */
+    private Spool.Entry read(final Spool.Segment seg, final int len) {
+        final ByteBuffer buf = seg.buffer.duplicate();
+        buf.position(this.offset + Integer.BYTES);
+        final int sum = buf.getInt();
+        final byte[] bytes = new byte[len];
+        buf.get(bytes);
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        Spool.Entry entry = null;
+        if ((int) crc.getValue() == sum) {
+            entry = new Spool.Entry(bytes, seg.id, buf.position());
+            this.offset = buf.position();
+        } else {
+            Logger.error(
+                this, "broken record at %d in segment #%d, skipping the rest",
+                this.offset, seg.id
+            );
+            this.offset = seg.buffer.capacity();
+        }
+        return entry;
+    }
+
+    /**
+     * Open all segments, find the end of the last one and the position
+     * of the reader.
+     * @throws IOException If fails
+     */
+    private void recover() throws IOException {
+        final long start = this.checkpoint.getLong(0);
+        try (DirectoryStream<Path> files =
+            Files.newDirectoryStream(this.dir, "*".concat(Spool.SUFFIX))) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                final long id = Long.parseLong(
+                    name.substring(0, name.length() - Spool.SUFFIX.length())
+                );
+                if (id < start) {
+                    this.delete(id);
+                } else {
+                    this.segments.put(
+                        id,
+                        new Spool.Segment(
+                            id, Spool.map(file, (int) Files.size(file))
+                        )
+                    );
+                }
+            }
+        }
+        if (this.segments.isEmpty()) {
+            this.segments.put(
+                start,
+                new Spool.Segment(start, Spool.map(this.file(start), this.size))
+            );
+        }
+        for (final Spool.Segment seg : this.segments.values()) {
+            seg.sealed = true;
+            seg.durable.set(seg.buffer.capacity());
+        }
+        this.head = this.segments.lastEntry().getValue();
+        this.head.sealed = false;
+        this.head.limit = this.tail(this.head);
+        this.head.durable.set(this.head.limit);
+        if (this.segments.containsKey(start)) {
+            this.segment = start;
+            this.offset = Math.min(
+                (int) this.checkpoint.getLong(Long.BYTES),
+                this.segments.get(start).durable.get()
+            );
+        } else {
+            this.segment = this.segments.firstKey();
+            this.offset = 0;
+        }
+        Logger.info(
+            this, "%d segment(s) in %s, reading from #%d at %d",
+            this.segments.size(), this.dir, this.segment, this.offset
+        );
+    }
+
+    /**
+     * Find the end of valid records in the segment and erase the broken
+     * one after it, if any.
+     * @param seg Segment
+     * @return Offset of the end
+     */
+    private int tail(final Spool.Segment seg) {
+        final ByteBuffer buf = seg.buffer;
+        int pos = 0;
+        while (pos + Spool.HEADER <= buf.capacity()) {
+            final int len = buf.getInt(pos);
+            if (len <= 0 || pos + Spool.HEADER + len > buf.capacity()) {
+                break;
+            }
+            final byte[] bytes = new byte[len];
+            final ByteBuffer dup = buf.duplicate();
+            dup.position(pos + Spool.HEADER);
+            dup.get(bytes);
+            final CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            if ((int) crc.getValue() != buf.getInt(pos + Integer.BYTES)) {
+                Logger.warn(
+                    this, "broken record at %d in segment #%d, erased",
+                    pos, seg.id
+                );
+                for (int idx = pos; idx < pos + Spool.HEADER + len; ++idx) {
+                    buf.put(idx, (byte) 0);
+                }
+                break;
+            }
+            pos += Spool.HEADER + len;
+        }
+        if (pos + Integer.BYTES <= buf.capacity()) {
+            buf.putInt(pos, 0);
+        }
+        return pos;
+    }
+
+    /**
+     * Delete segment file.
+     * @param id Segment ID
+     */
+    private void delete(final long id) {
+        try {
+            Files.deleteIfExists(this.file(id));
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "failed to delete segment #%d: %s", id, ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * File of the segment.
+     * @param id Segment ID
+     * @return Path
+     */
+    private Path file(final long id) {
+        return this.dir.resolve(String.format("%020d%s", id, Spool.SUFFIX));
+    }
+
+    /**
+     * Map file into memory.
+     * @param file The file
+     * @param bytes Size of it
+     * @return Buffer
+     * @throws IOException If fails
+     */
+    private static MappedByteBuffer map(final Path file, final int bytes)
+        throws IOException {
+        try (FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        )) {
+            return channel.map(
+                FileChannel.MapMode.READ_WRITE, 0L,
+                Math.max(bytes, channel.size())
+            );
+        }
+    }
+
+    /**
+     * Forces a mapped buffer to disk.
+     * @since 2.0
+     */
+    interface Disk {
+
+        /**
+         * Force with {@link MappedByteBuffer#force()}.
+         */
+        Spool.Disk MAPPED = buf -> {
+            try {
+                buf.force();
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+
+        /**
+         * Force the buffer to disk.
+         * @param buf The buffer
+         * @throws IOException If fails
+         */
+        void force(MappedByteBuffer buf) throws IOException;
+    }
+
+    /**
+     * Record taken from the spool.
+     * @since 2.0
+     */
+    @ToString(of = { "segment", "next" })
+    @EqualsAndHashCode(of = { "segment", "next" })
+    public static final class Entry {
+
+        /**
+         * The bytes.
+         */
+        private final transient byte[] data;
+
+        /**
+         * Segment ID.
+         */
+        private final transient long segment;
+
+        /**
+         * Offset of the next record.
+         */
+        private final transient int next;
+
+        /**
+         * Ctor.
+         * @param bytes The bytes
+         * @param seg Segment ID
+         * @param pos Offset of the next record
+         */
+        Entry(final byte[] bytes, final long seg, final int pos) {
+            this.data = bytes;
+            this.segment = seg;
+            this.next = pos;
+        }
+
+        /**
+         * The bytes of the record.
+         * @return Bytes
+         */
+        public byte[] bytes() {
+            return this.data.clone();
+        }
+    }
+
+    /**
+     * Segment file.
+     * @since 2.0
+     */
+    private static final class Segment {
+
+        /**
+         * ID.
+         */
+        private final transient long id;
+
+        /**
+         * Mapped content.
+         */
+        private final transient MappedByteBuffer buffer;
+
+        /**
+         * End of the records on disk.
+         */
+        private final transient AtomicInteger durable;
+
+        /**
+         * End of the records written, changed only by writers.
+         */
+        private transient int limit;
+
+        /**
+         * Is it complete and no more records will be written?
+         */
+        private volatile boolean sealed;
+
+        /**
+         * Ctor.
+         * @param num ID
+         * @param buf Mapped content
+         */
+        Segment(final long num, final MappedByteBuffer buf) {
+            this.id = num;
+            this.buffer = buf;
+            this.durable = new AtomicInteger();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.stamp;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ExecutionException;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+
+/**
+ * Addresses of stamps, parsed once and shared.
+ *
+ * <p>Stamps are immutable and keep addresses as text, already checked
+ * and encoded, the way {@link InternetAddress#toString()} makes it.
+ * Parsed addresses are kept here, by that text and by the text they
+ * were made from, so a stamp attached to many messages, or many stamps
+ * with the same address, like the sender of a mailing, don't parse it
+ * again. The most recently used addresses are kept, up to a limit.
+ *
+ * <p>Addresses given out are shared and must not be modified.
+ * {@link javax.mail.Message} only reads them, to make its headers.
+ *
+ * @since 2.0
+ */
+final class Addresses {
+
+    /**
+     * Parsed addresses, by their text.
+     */
+    private static final Cache<String, InternetAddress> PARSED =
+        CacheBuilder.newBuilder().maximumSize(10_000L).build();
+
+    /**
+     * Utility class.
+     */
+    private Addresses() {
+        // intentionally empty
+    }
+
+    /**
+     * Check the address and encode it.
+     * @param text Address, like "Jeff &lt;jeff@example.com&gt;"
+     * @return Address, encoded
+     */
+    static String encoded(final String text) {
+        if (text == null) {
+            throw new IllegalArgumentException(
+                "Email address can't be NULL"
+            );
+        }
+        final InternetAddress addr;
+        try {
+            addr = Addresses.PARSED.get(text, () -> new InternetAddress(text));
+        } catch (final ExecutionException ex) {
+            throw new IllegalArgumentException(
+                String.format("Email address \"%s\" is not valid", text),
+                ex.getCause()
+            );
+        }
+        final String encoded = addr.toString();
+        if (!encoded.equals(text)) {
+            Addresses.PARSED.put(encoded, addr);
+        }
+        return encoded;
+    }
+
+    /**
+     * Get the address parsed.
+     * @param encoded Address, encoded by {@link #encoded(String)}
+     * @return Address, shared
+     * @throws AddressException If it's not valid
+     */
+    static InternetAddress parsed(final String encoded)
+        throws AddressException {
+        InternetAddress addr = Addresses.PARSED.getIfPresent(encoded);
+        if (addr == null) {
+            addr = new InternetAddress(encoded);
+            Addresses.PARSED.put(encoded, addr);
+        }
+        return addr;
+    }
+}
@@ -62,22 +62,22 @@ public final class StCc implements Stamp {
 
     /**
      * Ctor.
+     *
+     * <p>The address is parsed and checked here, it must not be NULL
+     * and must be valid, or {@link IllegalArgumentException} is thrown.
+     *
      * @param addr Address
+     * @checkstyle ConstructorsCodeFreeCheck (5 lines)
      */
     public StCc(final String addr) {
-        this.email = addr;
+        this.email = Addresses.encoded(addr);
     }
 
     @Override
     public void attach(final Message message) throws MessagingException {
-        if (this.email == null) {
-            throw new IllegalArgumentException(
-                "Email address can't be NULL"
-            );
-        }
         message.addRecipient(
             Message.RecipientType.CC,
-            new InternetAddress(this.email)
+            Addresses.parsed(this.email)
         );
     }
 
@@ -10,7 +10,6 @@ import com.jcabi.email.Stamp;
 import javax.mail.Address;
 import javax.mail.Message;
 import javax.mail.MessagingException;
-import javax.mail.internet.InternetAddress;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -40,19 +39,19 @@ public final class StReplyTo implements Stamp {
 
     /**
      * Ctor.
+     *
+     * <p>The address is parsed and checked here, it must not be NULL
+     * and must be valid, or {@link IllegalArgumentException} is thrown.
+     *
      * @param addr Address
+     * @checkstyle ConstructorsCodeFreeCheck (5 lines)
      */
     public StReplyTo(final String addr) {
-        this.email = addr;
+        this.email = Addresses.encoded(addr);
     }
 
     @Override
     public void attach(final Message message) throws MessagingException {
-        if (this.email == null) {
-            throw new IllegalArgumentException(
-                "Email address can't be NULL"
-            );
-        }
-        message.setReplyTo(new Address[] {new InternetAddress(this.email)});
+        message.setReplyTo(new Address[] {Addresses.parsed(this.email)});
     }
 }
@@ -0,0 +1,356 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.email.Wire;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that spreads connections among a few relays.
+ *
+ * <p>Every {@link #connect()} picks one of the wires, according to
+ * the {@link Balanced.Policy}:
+ *
+ * <pre> Postman postman = new Postman.Default(
+ *   new Balanced(
+ *     new Balanced.LeastBusy(),
+ *     new Smtp(first),
+ *     new Smtp(second)
+ *   )
+ * );
+ * </pre>
+ *
+ * <p>The wire counts transports that are given out and not closed yet,
+ * and measures the time of every send, as an exponentially weighted
+ * moving average. Policies decide by these
+ * numbers: {@link Balanced.RoundRobin}, {@link Balanced.LeastBusy}
+ * and {@link Balanced.Fastest}.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "relays", "policy" })
+@EqualsAndHashCode(of = { "relays", "policy" })
+public final class Balanced implements Wire {
+
+    /**
+     * Relays.
+     */
+    private final transient List<Balanced.Relay> relays;
+
+    /**
+     * Policy.
+     */
+    private final transient Balanced.Policy policy;
+
+    /**
+     * Ctor, with round robin.
+     * @param wires Wires to balance
+     */
+    public Balanced(final Wire... wires) {
+        this(new Balanced.RoundRobin(), wires);
+    }
+
+    /**
+     * Ctor.
+     * @param plc Policy
+     * @param wires Wires to balance
+     */
+    public Balanced(final Balanced.Policy plc, final Wire... wires) {
+        this(plc, Arrays.asList(wires));
+    }
+
+    /**
+     * Ctor.
+     * @param plc Policy
+     * @param wires Wires to balance
+     * @checkstyle ConstructorsCodeFreeCheck (10 lines)
+     */
+    public Balanced(final Balanced.Policy plc, final Iterable<Wire> wires) {
+        final List<Balanced.Relay> list = new ArrayList<>(0);
+        for (final Wire wire : wires) {
+            list.add(new Balanced.Relay(wire));
+        }
+        this.relays = Collections.unmodifiableList(list);
+        this.policy = plc;
+    }
+
+    @Override
+    public Transport connect() throws IOException {
+        if (this.relays.isEmpty()) {
+            throw new IOException("no wires to balance");
+        }
+        return this.relays.get(this.policy.pick(this.relays)).connect();
+    }
+
+    /**
+     * Policy of picking a relay.
+     * @since 2.0
+     */
+    @FunctionalInterface
+    public interface Policy {
+
+        /**
+         * Pick one.
+         * @param relays All relays, never empty
+         * @return Position of the relay to use
+         */
+        int pick(List<Balanced.Relay> relays);
+    }
+
+    /**
+     * Relay, one of the wires, with its statistics.
+     * @since 2.0
+     */
+    @ToString(of = "wire")
+    @EqualsAndHashCode(of = "wire")
+    public static final class Relay {
+
+        /**
+         * Weight of a new sample in the moving average, as a shift.
+         */
+        private static final int SHIFT = 3;
+
+        /**
+         * Sample of a failed connect or send, in nanoseconds.
+         */
+        private static final long PENALTY = TimeUnit.SECONDS.toNanos(30L);
+
+        /**
+         * Average of a relay that wasn't tried yet.
+         */
+        private static final long UNTRIED = -1L;
+
+        /**
+         * The wire.
+         */
+        private final transient Wire wire;
+
+        /**
+         * Transports given out and not closed yet.
+         */
+        private final transient AtomicInteger outstanding;
+
+        /**
+         * Moving average of send time, in nanoseconds,
+         * or {@link #UNTRIED}.
+         */
+        private final transient AtomicLong average;
+
+        /**
+         * Ctor.
+         * @param wre The wire
+         */
+        Relay(final Wire wre) {
+            this.wire = wre;
+            this.outstanding = new AtomicInteger();
+            this.average = new AtomicLong(Balanced.Relay.UNTRIED);
+        }
+
+        /**
+         * How many transports are given out now.
+         * @return Number of them
+         */
+        public int busy() {
+            return this.outstanding.get();
+        }
+
+        /**
+         * Average time of one send.
+         *
+         * <p>Failed connects and sends count as taking 30 seconds.
+         *
+         * @return Nanoseconds, zero if it wasn't tried yet
+         */
+        public long latency() {
+            return Math.max(0L, this.average.get());
+        }
+
+        /**
+         * Was it tried already, successfully or not?
+         * @return TRUE if it was
+         */
+        public boolean tried() {
+            return this.average.get() != Balanced.Relay.UNTRIED;
+        }
+
+        /**
+         * Connect.
+         * @return Transport
+         * @throws IOException If fails
+         */
+        Transport connect() throws IOException {
+            this.outstanding.incrementAndGet();
+            final Transport transport;
+            try {
+                transport = this.wire.connect();
+            } catch (final IOException ex) {
+                this.outstanding.decrementAndGet();
+                this.record(Balanced.Relay.PENALTY);
+                throw ex;
+            }
+            return new Leased(
+                transport,
+                new Leased.Hook() {
+                    /**
+                     * When the current send started, in nanoseconds.
+                     */
+                    private final transient AtomicLong start =
+                        new AtomicLong();
+
+                    @Override
+                    public void sending(final Transport trans) {
+                        this.start.set(System.nanoTime());
+                    }
+
+                    @Override
+                    public void sent(final Transport trans,
+                        final boolean success) {
+                        if (success) {
+                            Balanced.Relay.this.record(
+                                System.nanoTime() - this.start.get()
+                            );
+                        } else {
+                            Balanced.Relay.this.record(
+                                Balanced.Relay.PENALTY
+                            );
+                        }
+                    }
+
+                    @Override
+                    public void release(final Transport trans)
+                        throws MessagingException {
+                        Balanced.Relay.this.outstanding.decrementAndGet();
+                        trans.close();
+                    }
+                }
+            );
+        }
+
+        /**
+         * Add a sample to the moving average.
+         * @param nanos Time it took
+         */
+        private void record(final long nanos) {
+            this.average.accumulateAndGet(
+                nanos,
+                (prev, sample) -> {
+                    final long next;
+                    if (prev == Balanced.Relay.UNTRIED) {
+                        next = sample;
+                    } else {
+                        next = prev + ((sample - prev) >> Balanced.Relay.SHIFT);
+                    }
+                    return next;
+                }
+            );
+        }
+    }
+
+    /**
+     * Round robin policy.
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = {})
+    public static final class RoundRobin implements Balanced.Policy {
+
+        /**
+         * Counter.
+         */
+        private final transient AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public int pick(final List<Balanced.Relay> relays) {
+            return Math.floorMod(this.counter.getAndIncrement(), relays.size());
+        }
+    }
+
+    /**
+     * Policy that picks the relay with the least transports given out.
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = {})
+    public static final class LeastBusy implements Balanced.Policy {
+
+        @Override
+        public int pick(final List<Balanced.Relay> relays) {
+            final int size = relays.size();
+            final int first = ThreadLocalRandom.current().nextInt(size);
+            int best = first;
+            for (int step = 1; step < size; ++step) {
+                final int idx = (first + step) % size;
+                if (relays.get(idx).busy() < relays.get(best).busy()) {
+                    best = idx;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Policy that prefers relays with lower latency.
+     *
+     * <p>A relay is picked at random, with the probability inversely
+     * proportional to its average latency, so slow relays still get
+     * some traffic and can show that they are fast again. Until every
+     * relay is tried, relays are picked in turn, so that a burst of
+     * connects at start isn't sent to one of them. Failures count as
+     * very slow sends, so a relay that can't connect or send gets little
+     * traffic until it recovers.
+     *
+     * @since 2.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = {})
+    public static final class Fastest implements Balanced.Policy {
+
+        /**
+         * Picks relays in turn until all of them are tried.
+         */
+        private final transient Balanced.RoundRobin turns =
+            new Balanced.RoundRobin();
+
+        @Override
+        public int pick(final List<Balanced.Relay> relays) {
+            final double[] weights = new double[relays.size()];
+            double total = 0.0d;
+            int found = -1;
+            for (int idx = 0; idx < weights.length; ++idx) {
+                final Balanced.Relay relay = relays.get(idx);
+                if (!relay.tried()) {
+                    found = this.turns.pick(relays);
+                    break;
+                }
+                weights[idx] = 1.0d / (double) Math.max(1L, relay.latency());
+                total += weights[idx];
+            }
+            if (found < 0) {
+                double point = ThreadLocalRandom.current().nextDouble() * total;
+                found = weights.length - 1;
+                for (int idx = 0; idx < weights.length; ++idx) {
+                    point -= weights[idx];
+                    if (point < 0.0d) {
+                        found = idx;
+                        break;
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
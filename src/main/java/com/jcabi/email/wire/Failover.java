@@ -0,0 +1,268 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.email.Wire;
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that skips relays which are down.
+ *
+ * <p>Wires are tried in the given order. After the given number of
+ * consecutive failures of one of them, to connect or to send, its
+ * circuit is opened and the wire is not tried anymore: traffic goes to
+ * the others, without waiting for connect timeouts. A background thread
+ * probes open circuits by connecting (which says EHLO) and sending NOOP,
+ * and closes the circuit once the wire works again:
+ *
+ * <pre> try (Failover wire = new Failover(
+ *   new Smtp(primary), new Smtp(backup)
+ * )) {
+ *   new Postman.Default(wire).send(envelope);
+ * }</pre>
+ *
+ * <p>When all circuits are open, {@link #connect()} fails right away.
+ * A failure to send counts only when the transport is disconnected
+ * after it; a rejected recipient is not the relay's fault.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "circuits", "threshold", "period" })
+@EqualsAndHashCode(of = { "circuits", "threshold", "period" })
+public final class Failover implements Wire, Closeable {
+
+    /**
+     * Circuits, one per wire.
+     */
+    private final transient List<Failover.Circuit> circuits;
+
+    /**
+     * Consecutive failures that open a circuit.
+     */
+    private final transient int threshold;
+
+    /**
+     * Delay between probes, in msec.
+     */
+    private final transient long period;
+
+    /**
+     * Thread that probes.
+     */
+    private final transient ScheduledExecutorService prober;
+
+    /**
+     * Is the prober started?
+     */
+    private final transient AtomicBoolean started;
+
+    /**
+     * Ctor.
+     * @param wires Wires, in order of preference
+     */
+    public Failover(final Wire... wires) {
+        this(3, 10_000L, Arrays.asList(wires));
+    }
+
+    /**
+     * Ctor.
+     * @param errors Consecutive failures that open a circuit
+     * @param delay Delay between probes of open circuits, in msec
+     * @param wires Wires, in order of preference
+     * @checkstyle ConstructorsCodeFreeCheck (20 lines)
+     */
+    public Failover(final int errors, final long delay,
+        final Iterable<Wire> wires) {
+        final List<Failover.Circuit> list = new ArrayList<>(0);
+        for (final Wire wire : wires) {
+            list.add(new Failover.Circuit(wire));
+        }
+        this.circuits = Collections.unmodifiableList(list);
+        this.threshold = errors;
+        this.period = delay;
+        this.prober = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "failover-probe");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.started = new AtomicBoolean();
+    }
+
+    @Override
+    public Transport connect() throws IOException {
+        IOException error = null;
+        Transport transport = null;
+        for (final Failover.Circuit circuit : this.circuits) {
+            if (circuit.open.get()) {
+                continue;
+            }
+            try {
+                transport = circuit.connect();
+                break;
+            } catch (final IOException ex) {
+                if (error == null) {
+                    error = ex;
+                } else {
+                    error.addSuppressed(ex);
+                }
+            }
+        }
+        if (transport == null) {
+            if (error == null) {
+                error = new ConnectException("all relays are down");
+            }
+            throw error;
+        }
+        return transport;
+    }
+
+    @Override
+    public void close() {
+        this.prober.shutdownNow();
+    }
+
+    /**
+     * Probe all open circuits.
+     */
+    private void probe() {
+        for (final Failover.Circuit circuit : this.circuits) {
+            if (circuit.open.get()) {
+                circuit.probe();
+            }
+        }
+    }
+
+    /**
+     * Circuit of one wire.
+     * @since 2.0
+     */
+    @ToString(of = "wire")
+    @EqualsAndHashCode(of = "wire")
+    private final class Circuit {
+
+        /**
+         * The wire.
+         */
+        private final transient Wire wire;
+
+        /**
+         * Consecutive failures.
+         */
+        private final transient AtomicInteger failures;
+
+        /**
+         * Is it open?
+         */
+        private final transient AtomicBoolean open;
+
+        /**
+         * Ctor.
+         * @param wre The wire
+         */
+        Circuit(final Wire wre) {
+            this.wire = wre;
+            this.failures = new AtomicInteger();
+            this.open = new AtomicBoolean();
+        }
+
+        /**
+         * Connect.
+         * @return Transport
+         * @throws IOException If fails
+         */
+        Transport connect() throws IOException {
+            final Transport transport;
+            try {
+                transport = this.wire.connect();
+            } catch (final IOException ex) {
+                this.fail();
+                throw ex;
+            }
+            return new Leased(
+                transport,
+                new Leased.Hook() {
+                    @Override
+                    public void sent(final Transport trans,
+                        final boolean success) {
+                        if (success) {
+                            Failover.Circuit.this.failures.set(0);
+                        } else if (!trans.isConnected()) {
+                            Failover.Circuit.this.fail();
+                        }
+                    }
+
+                    @Override
+                    public void release(final Transport trans)
+                        throws MessagingException {
+                        trans.close();
+                    }
+                }
+            );
+        }
+
+        /**
+         * Try to connect and close the circuit, if it works.
+         */
+        void probe() {
+            try {
+                final Transport transport = this.wire.connect();
+                try {
+                    if (transport.isConnected()) {
+                        this.failures.set(0);
+                        this.open.set(false);
+                        Logger.info(
+                            this, "%s is back, circuit closed", this.wire
+                        );
+                    }
+                } finally {
+                    transport.close();
+                }
+            } catch (final IOException | MessagingException ex) {
+                Logger.debug(
+                    this, "%s is still down: %s",
+                    this.wire, ex.getMessage()
+                );
+            }
+        }
+
+        /**
+         * Count one failure.
+         */
+        private void fail() {
+            if (this.failures.incrementAndGet() >= Failover.this.threshold
+                && this.open.compareAndSet(false, true)) {
+                Logger.warn(
+                    this, "%s failed %d times in a row, circuit opened",
+                    this.wire, this.failures.get()
+                );
+                if (Failover.this.started.compareAndSet(false, true)) {
+                    Failover.this.prober.scheduleWithFixedDelay(
+                        Failover.this::probe,
+                        Failover.this.period, Failover.this.period,
+                        TimeUnit.MILLISECONDS
+                    );
+                }
+            }
+        }
+    }
+}
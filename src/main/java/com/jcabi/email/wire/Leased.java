@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+/**
+ * Transport leased from a wire, which is given back instead of
+ * being closed.
+ *
+ * <p>The class is used by wires that keep track of their
+ * transports, like {@link Pooled}. The origin transport is expected
+ * to be connected already; {@link #close()} doesn't disconnect it, but
+ * passes it to the {@link Leased.Hook}, exactly once. Sending through
+ * a leased transport after it's closed is an {@link IllegalStateException}.
+ *
+ * @since 2.0
+ */
+final class Leased extends Transport {
+
+    /**
+     * Origin transport.
+     */
+    private final transient Transport origin;
+
+    /**
+     * Hook to report to.
+     */
+    private final transient Leased.Hook hook;
+
+    /**
+     * Was it given back already?
+     */
+    private final transient AtomicBoolean back;
+
+    /**
+     * Ctor.
+     * @param transport Origin transport, connected
+     * @param hk Hook to report to
+     */
+    Leased(final Transport transport, final Leased.Hook hk) {
+        super(
+            Session.getDefaultInstance(new Properties()),
+            transport.getURLName()
+        );
+        this.origin = transport;
+        this.hook = hk;
+        this.back = new AtomicBoolean();
+    }
+
+    @Override
+    public void sendMessage(final Message msg, final Address[] addrs)
+        throws MessagingException {
+        if (this.back.get()) {
+            throw new IllegalStateException("Transport was given back");
+        }
+        this.hook.sending(this.origin);
+        boolean success = false;
+        try {
+            this.origin.sendMessage(msg, addrs);
+            success = true;
+        } finally {
+            this.hook.sent(this.origin, success);
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return !this.back.get() && this.origin.isConnected();
+    }
+
+    @Override
+    public void close() throws MessagingException {
+        if (this.back.compareAndSet(false, true)) {
+            this.hook.release(this.origin);
+        }
+    }
+
+    @Override
+    protected boolean protocolConnect(final String host, final int port,
+        final String user, final String password) {
+        return this.origin.isConnected();
+    }
+
+    /**
+     * Hook that is informed about the lifecycle of a leased transport.
+     * @since 2.0
+     */
+    interface Hook {
+
+        /**
+         * A message is about to be sent through the transport.
+         * @param transport Origin transport
+         */
+        default void sending(final Transport transport) {
+            // nothing to do by default
+        }
+
+        /**
+         * A message was sent through the transport, or failed to.
+         * @param transport Origin transport
+         * @param success TRUE if the message was accepted by the server
+         */
+        void sent(Transport transport, boolean success);
+
+        /**
+         * The transport is given back.
+         * @param transport Origin transport
+         * @throws MessagingException If fails
+         */
+        void release(Transport transport) throws MessagingException;
+    }
+}
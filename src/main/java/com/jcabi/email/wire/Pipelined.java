@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.email.Wire;
+import java.io.IOException;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+
+/**
+ * SMTP wire with non-blocking I/O and PIPELINING.
+ *
+ * <p>It's a replacement for {@link Smtp}, which doesn't use
+ * {@code javax.mail} SMTP transport, but talks to the server through
+ * its own one, which sends MAIL FROM and all RCPT TO commands in one
+ * round trip, if the server supports PIPELINING (RFC 2920). On a relay
+ * far away that saves a lot of time, especially with many recipients:
+ *
+ * <pre> Postman postman = new Postman.Default(
+ *   new Pipelined(
+ *     new Token("user", "password").access(
+ *       new Protocol.Smtp("bind", "port")
+ *     )
+ *   )
+ * );
+ * </pre>
+ *
+ * <p>Only plain SMTP is supported, with AUTH PLAIN or LOGIN; use
+ * {@link Smtps} when you need TLS.
+ *
+ * @since 2.0
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+public final class Pipelined implements Wire {
+
+    /**
+     * Mail session.
+     */
+    private final transient Session session;
+
+    /**
+     * Public ctor.
+     * @param session Session
+     */
+    public Pipelined(final Session session) {
+        this.session = session;
+    }
+
+    @Override
+    public Transport connect() throws IOException {
+        try {
+            final Transport transport = new PipelinedTransport(
+                this.session, new URLName("smtp", null, -1, null, null, null)
+            );
+            transport.connect();
+            return transport;
+        } catch (final MessagingException ex) {
+            throw new IOException(ex);
+        }
+    }
+}
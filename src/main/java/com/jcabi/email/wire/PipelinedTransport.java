@@ -0,0 +1,772 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.log.Logger;
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPOutputStream;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.event.TransportEvent;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * SMTP transport on a non-blocking socket channel, with PIPELINING.
+ *
+ * <p>When the server announces the PIPELINING extension (RFC 2920),
+ * MAIL FROM and all RCPT TO commands go out in one write and their
+ * replies are read afterwards, which saves a round trip per
+ * recipient. DATA is sent only when all recipients are accepted, so
+ * a rejected recipient aborts the transaction with RSET, just like
+ * {@link com.sun.mail.smtp.SMTPTransport} does. So does a rejected
+ * DATA or message, to keep the session clean for the next one.
+ *
+ * <p>These session properties are used: {@code mail.smtp.host},
+ * {@code mail.smtp.port}, {@code mail.smtp.auth},
+ * {@code mail.smtp.from}, {@code mail.smtp.localhost},
+ * {@code mail.smtp.timeout} and {@code mail.smtp.connectiontimeout}.
+ * TLS is not supported.
+ *
+ * @since 2.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class PipelinedTransport extends Transport {
+
+    /**
+     * Line end.
+     */
+    private static final String CRLF = "\r\n";
+
+    /**
+     * Size of the output buffer.
+     */
+    private static final int CHUNK = 64 * 1024;
+
+    /**
+     * Headers not to be sent.
+     */
+    private static final String[] IGNORE = {"Bcc", "Content-Length"};
+
+    /**
+     * Incoming bytes, in read mode.
+     */
+    private final transient ByteBuffer input;
+
+    /**
+     * Extensions announced by the server, with parameters.
+     */
+    private final transient Map<String, String> extensions;
+
+    /**
+     * Channel, or NULL if not connected.
+     */
+    private transient SocketChannel channel;
+
+    /**
+     * Selector to wait on.
+     */
+    private transient Selector selector;
+
+    /**
+     * Key of the channel.
+     */
+    private transient SelectionKey key;
+
+    /**
+     * Ctor.
+     * @param session Mail session
+     * @param url URL name
+     */
+    PipelinedTransport(final Session session, final URLName url) {
+        super(session, url);
+        this.input = ByteBuffer.allocate(8 * 1024);
+        this.input.flip();
+        this.extensions = new HashMap<>(0);
+    }
+
+    @Override
+    public synchronized void sendMessage(final Message msg,
+        final Address[] addresses) throws MessagingException {
+        if (this.channel == null) {
+            throw new IllegalStateException("Not connected");
+        }
+        if (addresses == null || addresses.length == 0) {
+            throw new SendFailedException("No recipient addresses");
+        }
+        try {
+            this.envelope(msg, addresses);
+            final PipelinedTransport.Reply data = this.command("DATA");
+            if (data.code != 354) {
+                this.command("RSET");
+                throw data.failure("DATA", addresses);
+            }
+            this.data(msg);
+            final PipelinedTransport.Reply done = this.reply();
+            if (done.code != 250) {
+                this.command("RSET");
+                throw done.failure(".", addresses);
+            }
+        } catch (final IOException ex) {
+            this.shutdown();
+            throw new MessagingException("failed to send", ex);
+        }
+        this.notifyTransportListeners(
+            TransportEvent.MESSAGE_DELIVERED, addresses,
+            new Address[0], new Address[0], msg
+        );
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        boolean alive = super.isConnected() && this.channel != null;
+        if (alive) {
+            try {
+                alive = this.command("NOOP").code == 250;
+            } catch (final IOException ex) {
+                alive = false;
+            }
+            if (!alive) {
+                this.shutdown();
+                this.setConnected(false);
+            }
+        }
+        return alive;
+    }
+
+    @Override
+    public synchronized void close() throws MessagingException {
+        if (this.channel != null) {
+            try {
+                this.command("QUIT");
+            } catch (final IOException ex) {
+                Logger.debug(this, "failed to QUIT: %s", ex.getMessage());
+            } finally {
+                this.shutdown();
+            }
+        }
+        super.close();
+    }
+
+    @Override
+    protected synchronized boolean protocolConnect(final String host,
+        final int port, final String user, final String password)
+        throws MessagingException {
+        final boolean auth = Boolean.parseBoolean(
+            this.session.getProperty("mail.smtp.auth")
+        );
+        if (auth && (user == null || password == null)) {
+            return false;
+        }
+        try {
+            this.open(
+                PipelinedTransport.or(host, "localhost"),
+                this.port(port)
+            );
+            final PipelinedTransport.Reply greeting = this.reply();
+            if (greeting.code != 220) {
+                throw new MessagingException(greeting.text());
+            }
+            this.hello();
+            if (auth && this.extensions.containsKey("AUTH")) {
+                this.authenticate(user, password);
+            }
+        } catch (final IOException ex) {
+            this.shutdown();
+            throw new MessagingException(
+                String.format("failed to connect to %s:%d", host, port), ex
+            );
+        } catch (final MessagingException ex) {
+            this.shutdown();
+            throw ex;
+        }
+        return true;
+    }
+
+    /**
+     * Send MAIL FROM and RCPT TO, pipelined if possible.
+     * @param msg The message
+     * @param addresses Recipients
+     * @throws IOException If fails
+     * @throws MessagingException If the server rejects them
+     */
+    private void envelope(final Message msg, final Address[] addresses)
+        throws IOException, MessagingException {
+        final List<String> commands = new ArrayList<>(addresses.length + 1);
+        commands.add(String.format("MAIL FROM:<%s>", this.from(msg)));
+        for (final Address addr : addresses) {
+            commands.add(
+                String.format(
+                    "RCPT TO:<%s>",
+                    InternetAddress.class.cast(addr).getAddress()
+                )
+            );
+        }
+        final List<PipelinedTransport.Reply> replies;
+        if (this.extensions.containsKey("PIPELINING")) {
+            final StringBuilder batch = new StringBuilder(0);
+            for (final String cmd : commands) {
+                batch.append(cmd).append(PipelinedTransport.CRLF);
+            }
+            this.write(batch.toString());
+            replies = new ArrayList<>(commands.size());
+            for (int idx = 0; idx < commands.size(); ++idx) {
+                replies.add(this.reply());
+            }
+        } else {
+            replies = new ArrayList<>(commands.size());
+            for (final String cmd : commands) {
+                final PipelinedTransport.Reply reply = this.command(cmd);
+                replies.add(reply);
+                if (reply.code >= 400 && replies.size() == 1) {
+                    break;
+                }
+            }
+        }
+        this.verify(commands, replies, addresses);
+    }
+
+    /**
+     * Check replies to MAIL FROM and RCPT TO.
+     * @param commands Commands sent
+     * @param replies Replies received
+     * @param addresses Recipients
+     * @throws IOException If fails
+     * @throws MessagingException If something was rejected
+     */
+    private void verify(final List<String> commands,
+        final List<PipelinedTransport.Reply> replies,
+        final Address[] addresses) throws IOException, MessagingException {
+        final PipelinedTransport.Reply mail = replies.get(0);
+        if (mail.code != 250) {
+            this.command("RSET");
+            throw mail.failure(commands.get(0), addresses);
+        }
+        final List<Address> valid = new ArrayList<>(addresses.length);
+        final List<Address> invalid = new ArrayList<>(0);
+        MessagingException chain = null;
+        for (int idx = 0; idx < addresses.length; ++idx) {
+            final PipelinedTransport.Reply rcpt = replies.get(idx + 1);
+            if (rcpt.code == 250 || rcpt.code == 251) {
+                valid.add(addresses[idx]);
+            } else {
+                invalid.add(addresses[idx]);
+                final MessagingException failure =
+                    new SMTPAddressFailedException(
+                        InternetAddress.class.cast(addresses[idx]),
+                        commands.get(idx + 1), rcpt.code, rcpt.text()
+                    );
+                if (chain == null) {
+                    chain = failure;
+                } else {
+                    chain.setNextException(failure);
+                }
+            }
+        }
+        if (!invalid.isEmpty()) {
+            this.command("RSET");
+            throw new SendFailedException(
+                "Invalid Addresses", chain, new Address[0],
+                valid.toArray(new Address[0]),
+                invalid.toArray(new Address[0])
+            );
+        }
+    }
+
+    /**
+     * Say EHLO or HELO.
+     * @throws IOException If fails
+     * @throws MessagingException If the server refuses
+     */
+    private void hello() throws IOException, MessagingException {
+        final String name = this.localhost();
+        final PipelinedTransport.Reply ehlo = this.command(
+            String.format("EHLO %s", name)
+        );
+        this.extensions.clear();
+        if (ehlo.code == 250) {
+            for (final String line : ehlo.lines.subList(1, ehlo.lines.size())) {
+                final String[] parts = line.split(" ", 2);
+                this.extensions.put(
+                    parts[0].toUpperCase(Locale.ENGLISH),
+                    PipelinedTransport.or(
+                        parts.length > 1 ? parts[1] : null, ""
+                    )
+                );
+            }
+        } else {
+            final PipelinedTransport.Reply helo = this.command(
+                String.format("HELO %s", name)
+            );
+            if (helo.code != 250) {
+                throw new MessagingException(helo.text());
+            }
+        }
+    }
+
+    /**
+     * Authenticate with PLAIN or LOGIN.
+     * @param user User name
+     * @param password Password
+     * @throws IOException If fails
+     * @throws MessagingException If the credentials are refused
+     */
+    private void authenticate(final String user, final String password)
+        throws IOException, MessagingException {
+        final Base64.Encoder base = Base64.getEncoder();
+        final String mechanisms = this.extensions.get("AUTH")
+            .toUpperCase(Locale.ENGLISH);
+        final PipelinedTransport.Reply reply;
+        if (mechanisms.contains("PLAIN")) {
+            reply = this.command(
+                String.format(
+                    "AUTH PLAIN %s",
+                    base.encodeToString(
+                        String.format("\0%s\0%s", user, password)
+                            .getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            );
+        } else if (mechanisms.contains("LOGIN")) {
+            PipelinedTransport.challenge(this.command("AUTH LOGIN"));
+            PipelinedTransport.challenge(
+                this.command(
+                    base.encodeToString(user.getBytes(StandardCharsets.UTF_8))
+                )
+            );
+            reply = this.command(
+                base.encodeToString(password.getBytes(StandardCharsets.UTF_8))
+            );
+        } else {
+            throw new AuthenticationFailedException(
+                String.format("no supported AUTH mechanism in %s", mechanisms)
+            );
+        }
+        if (reply.code != 235) {
+            throw new AuthenticationFailedException(reply.text());
+        }
+    }
+
+    /**
+     * Open the channel.
+     * @param host Host
+     * @param port Port
+     * @throws IOException If fails
+     */
+    private void open(final String host, final int port) throws IOException {
+        this.channel = SocketChannel.open();
+        this.channel.configureBlocking(false);
+        this.selector = Selector.open();
+        this.key = this.channel.register(this.selector, 0);
+        if (!this.channel.connect(new InetSocketAddress(host, port))) {
+            this.await(
+                SelectionKey.OP_CONNECT,
+                this.millis("mail.smtp.connectiontimeout")
+            );
+            this.channel.finishConnect();
+        }
+        this.input.clear();
+        this.input.flip();
+    }
+
+    /**
+     * Close the channel, ignoring errors.
+     */
+    private void shutdown() {
+        try {
+            if (this.selector != null) {
+                this.selector.close();
+            }
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        } catch (final IOException ex) {
+            Logger.debug(this, "failed to close: %s", ex.getMessage());
+        } finally {
+            this.channel = null;
+            this.selector = null;
+            this.key = null;
+        }
+    }
+
+    /**
+     * Write the message after DATA, ending with a dot.
+     *
+     * <p>If anything fails in the middle of the message, the server
+     * is still reading it, so the connection is closed.
+     *
+     * @param msg The message
+     * @throws IOException If fails
+     * @throws MessagingException If fails
+     */
+    private void data(final Message msg)
+        throws IOException, MessagingException {
+        boolean written = false;
+        try {
+            final OutputStream raw = new PipelinedTransport.Output();
+            final SMTPOutputStream out = new SMTPOutputStream(raw);
+            if (msg instanceof MimeMessage) {
+                MimeMessage.class.cast(msg)
+                    .writeTo(out, PipelinedTransport.IGNORE);
+            } else {
+                msg.writeTo(out);
+            }
+            out.ensureAtBOL();
+            raw.write(
+                String.format(".%s", PipelinedTransport.CRLF)
+                    .getBytes(StandardCharsets.US_ASCII)
+            );
+            raw.flush();
+            written = true;
+        } finally {
+            if (!written) {
+                this.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Send a command and read the reply.
+     * @param cmd Command, without CRLF
+     * @return Reply
+     * @throws IOException If fails
+     */
+    private PipelinedTransport.Reply command(final String cmd)
+        throws IOException {
+        this.write(String.format("%s%s", cmd, PipelinedTransport.CRLF));
+        return this.reply();
+    }
+
+    /**
+     * Read one reply, maybe multi-line.
+     * @return Reply
+     * @throws IOException If fails
+     */
+    private PipelinedTransport.Reply reply() throws IOException {
+        final List<String> lines = new ArrayList<>(1);
+        String line;
+        do {
+            line = this.line();
+            if (line.length() < 3) {
+                throw new IOException(
+                    String.format("invalid SMTP reply: \"%s\"", line)
+                );
+            }
+            lines.add(line.length() > 4 ? line.substring(4) : "");
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        try {
+            return new PipelinedTransport.Reply(
+                Integer.parseInt(line.substring(0, 3)), lines
+            );
+        } catch (final NumberFormatException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Read one line, without CRLF.
+     * @return The line
+     * @throws IOException If fails
+     */
+    private String line() throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            if (!this.input.hasRemaining()) {
+                this.fill();
+            }
+            final byte next = this.input.get();
+            if (next == '\n') {
+                break;
+            }
+            if (next != '\r') {
+                line.write(next);
+            }
+        }
+        return new String(line.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read more bytes from the channel.
+     * @throws IOException If fails
+     */
+    private void fill() throws IOException {
+        this.input.clear();
+        try {
+            while (true) {
+                final int read = this.channel.read(this.input);
+                if (read < 0) {
+                    throw new EOFException("connection closed by server");
+                }
+                if (read > 0) {
+                    break;
+                }
+                this.await(
+                    SelectionKey.OP_READ, this.millis("mail.smtp.timeout")
+                );
+            }
+        } finally {
+            this.input.flip();
+        }
+    }
+
+    /**
+     * Write text to the channel.
+     * @param text The text
+     * @throws IOException If fails
+     */
+    private void write(final String text) throws IOException {
+        this.write(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Write all bytes to the channel.
+     * @param buf The bytes
+     * @throws IOException If fails
+     */
+    private void write(final ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (this.channel.write(buf) == 0) {
+                this.await(
+                    SelectionKey.OP_WRITE, this.millis("mail.smtp.timeout")
+                );
+            }
+        }
+    }
+
+    /**
+     * Wait until the channel is ready.
+     * @param ops Operations to wait for
+     * @param timeout Timeout in msec, zero means forever
+     * @throws IOException If fails or times out
+     */
+    private void await(final int ops, final long timeout) throws IOException {
+        this.key.interestOps(ops);
+        try {
+            if (this.selector.select(timeout) == 0) {
+                throw new SocketTimeoutException(
+                    String.format("no reply in %d msec", timeout)
+                );
+            }
+        } finally {
+            this.selector.selectedKeys().clear();
+            this.key.interestOps(0);
+        }
+    }
+
+    /**
+     * Read a timeout from the session.
+     * @param name Property name
+     * @return Msec, zero means forever
+     */
+    private long millis(final String name) {
+        return Long.parseLong(
+            PipelinedTransport.or(this.session.getProperty(name), "0")
+        );
+    }
+
+    /**
+     * Find the port to connect to.
+     * @param port Port given
+     * @return Port to use
+     */
+    private int port(final int port) {
+        int found = port;
+        if (found < 0) {
+            found = Integer.parseInt(
+                PipelinedTransport.or(
+                    this.session.getProperty("mail.smtp.port"), "25"
+                )
+            );
+        }
+        return found;
+    }
+
+    /**
+     * Find the name of the local host to say EHLO with.
+     * @return Local host name
+     */
+    private String localhost() {
+        String name = this.session.getProperty("mail.smtp.localhost");
+        if (name == null) {
+            try {
+                name = InetAddress.getLocalHost().getCanonicalHostName();
+            } catch (final UnknownHostException ex) {
+                name = "localhost";
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Find the envelope sender.
+     * @param msg The message
+     * @return Email address
+     * @throws MessagingException If fails
+     */
+    private String from(final Message msg) throws MessagingException {
+        String from = this.session.getProperty("mail.smtp.from");
+        if (from == null) {
+            final Address[] senders = msg.getFrom();
+            if (senders != null && senders.length > 0) {
+                from = InternetAddress.class.cast(senders[0]).getAddress();
+            } else {
+                from = InternetAddress.getLocalAddress(this.session)
+                    .getAddress();
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Make sure the server asks for the next step of AUTH LOGIN.
+     * @param reply Reply of the server
+     * @throws AuthenticationFailedException If it's not 334
+     */
+    private static void challenge(final PipelinedTransport.Reply reply)
+        throws AuthenticationFailedException {
+        if (reply.code != 334) {
+            throw new AuthenticationFailedException(reply.text());
+        }
+    }
+
+    /**
+     * Value or default, if NULL.
+     * @param value The value or NULL
+     * @param def Default
+     * @return Value
+     */
+    private static String or(final String value, final String def) {
+        final String result;
+        if (value == null) {
+            result = def;
+        } else {
+            result = value;
+        }
+        return result;
+    }
+
+    /**
+     * SMTP reply.
+     * @since 2.0
+     */
+    private static final class Reply {
+
+        /**
+         * Code.
+         */
+        private final transient int code;
+
+        /**
+         * Lines of text, without codes.
+         */
+        private final transient List<String> lines;
+
+        /**
+         * Ctor.
+         * @param num Code
+         * @param text Lines of text
+         */
+        Reply(final int num, final List<String> text) {
+            this.code = num;
+            this.lines = text;
+        }
+
+        /**
+         * Full text.
+         * @return Text of the reply
+         */
+        String text() {
+            return String.format(
+                "%d %s", this.code, String.join(" ", this.lines)
+            );
+        }
+
+        /**
+         * Make an exception out of it.
+         * @param cmd The command rejected
+         * @param addresses Recipients
+         * @return Exception
+         */
+        SendFailedException failure(final String cmd,
+            final Address[] addresses) {
+            return new SMTPSendFailedException(
+                cmd, this.code, this.text(), null,
+                new Address[0], addresses, new Address[0]
+            );
+        }
+    }
+
+    /**
+     * Buffered stream into the channel.
+     * @since 2.0
+     */
+    private final class Output extends OutputStream {
+
+        /**
+         * Buffer, in write mode.
+         */
+        private final transient ByteBuffer buffer =
+            ByteBuffer.allocateDirect(PipelinedTransport.CHUNK);
+
+        @Override
+        public void write(final int data) throws IOException {
+            if (!this.buffer.hasRemaining()) {
+                this.flush();
+            }
+            this.buffer.put((byte) data);
+        }
+
+        @Override
+        public void write(final byte[] data, final int off, final int len)
+            throws IOException {
+            int pos = off;
+            final int end = off + len;
+            while (pos < end) {
+                if (!this.buffer.hasRemaining()) {
+                    this.flush();
+                }
+                final int size = Math.min(this.buffer.remaining(), end - pos);
+                this.buffer.put(data, pos, size);
+                pos += size;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.buffer.flip();
+            try {
+                PipelinedTransport.this.write(this.buffer);
+            } finally {
+                this.buffer.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.email.Wire;
+import com.jcabi.log.Logger;
+import com.sun.mail.smtp.SMTPTransport;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that keeps a bounded pool of connected transports.
+ *
+ * <p>Every {@link Smtp} or {@link Smtps} connection costs a TCP
+ * handshake, EHLO, TLS and AUTH. This wire keeps up to {@code max}
+ * transports of the origin wire connected and gives them out again and
+ * again. A transport returned by {@link #connect()} goes back to the pool
+ * when it is closed, which is exactly what {@link
+ * com.jcabi.email.Postman.Default} does after each message, so no special
+ * postman is needed:
+ *
+ * <pre> Postman postman = new Postman.Default(
+ *   new Pooled(
+ *     new Smtp(
+ *       new Token("user", "password").access(
+ *         new Protocol.Smtp("bind", "port")
+ *       )
+ *     )
+ *   )
+ * );
+ * </pre>
+ *
+ * <p>Before a transport that was idle for a while is given out, it is
+ * checked with NOOP; broken ones and the ones idle longer than the
+ * configured timeout are closed and replaced. When a transaction failed
+ * halfway, RSET is sent before the transport is returned to the pool.
+ * When all {@code max} transports are busy, {@link #connect()} waits.
+ *
+ * <p>Close the wire when it's not needed anymore, to disconnect
+ * all idle transports. Transports still leased are disconnected when
+ * they are closed.
+ *
+ * @since 2.0
+ */
+@ToString(of = { "origin", "max", "ttl" })
+@EqualsAndHashCode(of = { "origin", "max", "ttl" })
+public final class Pooled implements Wire, Closeable {
+
+    /**
+     * Transports idle for less than this number of msec are not checked.
+     */
+    private static final long FRESH = 1000L;
+
+    /**
+     * Origin wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Maximum number of transports.
+     */
+    private final transient int max;
+
+    /**
+     * Maximum idle time of a transport, in msec.
+     */
+    private final transient long ttl;
+
+    /**
+     * Idle transports, the most recently used first.
+     */
+    private final transient BlockingDeque<Pooled.Idle> idle;
+
+    /**
+     * Permits, one per transport.
+     */
+    private final transient Semaphore permits;
+
+    /**
+     * Is it closed?
+     */
+    private final transient AtomicBoolean closed;
+
+    /**
+     * Ctor.
+     * @param wire Origin wire
+     */
+    public Pooled(final Wire wire) {
+        this(wire, 8, 60_000L);
+    }
+
+    /**
+     * Ctor.
+     * @param wire Origin wire
+     * @param total Maximum number of transports, idle and busy
+     * @param timeout Maximum idle time of a transport, in msec
+     */
+    public Pooled(final Wire wire, final int total, final long timeout) {
+        this.origin = wire;
+        this.max = total;
+        this.ttl = timeout;
+        this.idle = new LinkedBlockingDeque<>();
+        this.permits = new Semaphore(total, true);
+        this.closed = new AtomicBoolean();
+    }
+
+    @Override
+    public Transport connect() throws IOException {
+        try {
+            this.permits.acquire();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        }
+        try {
+            return new Leased(this.borrow(), new Pooled.Lease());
+        } catch (final IOException | RuntimeException ex) {
+            this.permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed.set(true);
+        while (true) {
+            final Pooled.Idle entry = this.idle.pollFirst();
+            if (entry == null) {
+                break;
+            }
+            Pooled.discard(entry.transport);
+        }
+    }
+
+    /**
+     * Take an idle live transport or make a new one.
+     * @return Connected transport
+     * @throws IOException If fails
+     */
+    private Transport borrow() throws IOException {
+        Transport transport = null;
+        while (transport == null) {
+            final Pooled.Idle entry = this.idle.pollFirst();
+            if (entry == null) {
+                transport = this.origin.connect();
+                break;
+            }
+            final long age = System.currentTimeMillis() - entry.since;
+            if (age > this.ttl) {
+                Pooled.discard(entry.transport);
+            } else if (age > Pooled.FRESH && !entry.transport.isConnected()) {
+                Logger.debug(this, "transport is broken, replacing it");
+                Pooled.discard(entry.transport);
+            } else {
+                transport = entry.transport;
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * Reset the transport after a failed transaction.
+     * @param transport The transport
+     * @return TRUE if it's ready for the next transaction
+     */
+    private static boolean reset(final Transport transport) {
+        boolean ready = transport.isConnected();
+        if (ready && transport instanceof SMTPTransport) {
+            try {
+                ready = SMTPTransport.class.cast(transport)
+                    .simpleCommand("RSET") == 250;
+            } catch (final MessagingException ex) {
+                ready = false;
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Close the transport, ignoring errors.
+     * @param transport The transport
+     */
+    private static void discard(final Transport transport) {
+        try {
+            transport.close();
+        } catch (final MessagingException ex) {
+            Logger.debug(Pooled.class, "failed to close: %s", ex.getMessage());
+        }
+    }
+
+    /**
+     * Idle transport.
+     * @since 2.0
+     */
+    private static final class Idle {
+
+        /**
+         * The transport.
+         */
+        private final transient Transport transport;
+
+        /**
+         * When it became idle, in msec.
+         */
+        private final transient long since;
+
+        /**
+         * Ctor.
+         * @param trans The transport
+         * @param time When it became idle
+         */
+        Idle(final Transport trans, final long time) {
+            this.transport = trans;
+            this.since = time;
+        }
+    }
+
+    /**
+     * Lease of one transport.
+     * @since 2.0
+     */
+    private final class Lease implements Leased.Hook {
+
+        /**
+         * Did the last transaction fail?
+         */
+        private transient boolean failed;
+
+        @Override
+        public void sent(final Transport transport, final boolean success) {
+            this.failed = !success;
+        }
+
+        @Override
+        public void release(final Transport transport) {
+            try {
+                if (Pooled.this.closed.get()
+                    || this.failed && !Pooled.reset(transport)) {
+                    Pooled.discard(transport);
+                } else {
+                    final Pooled.Idle entry = new Pooled.Idle(
+                        transport, System.currentTimeMillis()
+                    );
+                    Pooled.this.idle.offerFirst(entry);
+                    if (Pooled.this.closed.get()
+                        && Pooled.this.idle.remove(entry)) {
+                        Pooled.discard(transport);
+                    }
+                }
+            } finally {
+                Pooled.this.permits.release();
+            }
+        }
+    }
+}
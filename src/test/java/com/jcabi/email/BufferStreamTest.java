@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BufferStream}.
+ * @since 2.0
+ */
+final class BufferStreamTest {
+
+    /**
+     * BufferStream can make sub-streams.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void makesSubStreams() throws Exception {
+        final ByteBuffer buf = ByteBuffer.allocateDirect(16);
+        buf.put("--hello, world".getBytes(StandardCharsets.US_ASCII));
+        buf.flip();
+        buf.position(2);
+        final BufferStream stream = new BufferStream(buf);
+        final InputStream sub = stream.newStream(7L, -1L);
+        MatcherAssert.assertThat(
+            IOUtils.toString(sub, StandardCharsets.US_ASCII),
+            Matchers.equalTo("world")
+        );
+        MatcherAssert.assertThat(
+            IOUtils.toString(
+                stream.newStream(0L, 5L), StandardCharsets.US_ASCII
+            ),
+            Matchers.equalTo("hello")
+        );
+    }
+
+    /**
+     * BufferStream can tell its position.
+     * @throws Exception If fails
+     */
+    @Test
+    void tellsPosition() throws Exception {
+        final BufferStream stream = new BufferStream(
+            ByteBuffer.wrap("abcdef".getBytes(StandardCharsets.US_ASCII))
+        );
+        stream.skip(2L);
+        stream.read();
+        MatcherAssert.assertThat(stream.getPosition(), Matchers.equalTo(3L));
+    }
+}
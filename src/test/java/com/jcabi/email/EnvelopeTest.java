@@ -12,14 +12,25 @@ import com.jcabi.email.stamp.StSender;
 import com.jcabi.email.stamp.StSubject;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedList;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Flags;
 import javax.mail.Message;
 import javax.mail.Multipart;
 import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 /**
@@ -45,6 +56,87 @@ final class EnvelopeTest {
         Mockito.verify(origin, Mockito.times(1)).unwrap();
     }
 
+    /**
+     * Envelope.Frozen can render only once and give separate messages.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void givesSeparateMessagesWhenFrozen() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Envelope origin = new Envelope.Mime()
+            .with(new StSender("jeff@example.com"))
+            .with(new StRecipient("walter@example.com"))
+            .with(new StSubject("frozen"))
+            .with(new EnPlain("how are you?"));
+        final Envelope env = new Envelope.Frozen(
+            () -> {
+                count.incrementAndGet();
+                return origin.unwrap();
+            },
+            new Region("frozen")
+        );
+        final Message draft = new Envelope.Draft(env).unwrap();
+        final Message msg = env.unwrap();
+        MatcherAssert.assertThat(count.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            msg,
+            Matchers.not(Matchers.sameInstance(draft))
+        );
+        MatcherAssert.assertThat(
+            msg.isSet(Flags.Flag.DRAFT),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Envelope.Frozen can be sent from many threads at once.
+     * @throws Exception If fails
+     */
+    @Test
+    void sendsFrozenFromManyThreads() throws Exception {
+        final Envelope env = new Envelope.Frozen(
+            new Envelope.Mime()
+                .with(new StSender("jeff@example.com"))
+                .with(new StRecipient("walter@example.com"))
+                .with(new StSubject("threads"))
+                .with(new EnPlain("first"))
+                .with(new EnPlain("second"))
+        );
+        final ExecutorService threads = Executors.newFixedThreadPool(8);
+        final Collection<Future<String>> futures = new LinkedList<>();
+        for (int idx = 0; idx < 100; ++idx) {
+            final String num = Integer.toString(idx);
+            futures.add(
+                threads.submit(
+                    () -> {
+                        final Message msg = env.unwrap();
+                        msg.setHeader("X-Number", num);
+                        msg.saveChanges();
+                        final ByteArrayOutputStream out =
+                            new ByteArrayOutputStream();
+                        msg.writeTo(out);
+                        return out.toString(StandardCharsets.UTF_8.name());
+                    }
+                )
+            );
+        }
+        final Collection<String> texts = new LinkedList<>();
+        for (final Future<String> future : futures) {
+            texts.add(future.get());
+        }
+        threads.shutdown();
+        MatcherAssert.assertThat(
+            texts,
+            Matchers.everyItem(
+                Matchers.allOf(
+                    Matchers.containsString("X-Number: "),
+                    Matchers.containsString("second")
+                )
+            )
+        );
+    }
+
     /**
      * Envelope should handle non-Latin characters.
      * @throws Exception Thrown in case of problem of writing a message to
@@ -118,4 +210,82 @@ final class EnvelopeTest {
             )
         );
     }
+
+    /**
+     * Envelope.Raw can send the same bytes many times.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void rendersOnlyOnce() throws Exception {
+        final Envelope origin = new Envelope.Mime()
+            .with(new StSender("jeff@example.com"))
+            .with(new StRecipient("walter@example.com"))
+            .with(new StSubject("hello"))
+            .with(new EnPlain("how are you?"));
+        final AtomicInteger count = new AtomicInteger();
+        final Envelope.Raw raw = new Envelope.Raw(
+            () -> {
+                count.incrementAndGet();
+                return origin.unwrap();
+            }
+        );
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        raw.unwrap().writeTo(first);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        raw.unwrap().writeTo(second);
+        MatcherAssert.assertThat(count.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            second.toByteArray(),
+            Matchers.equalTo(first.toByteArray())
+        );
+    }
+
+    /**
+     * Envelope.Raw can read a message from a file.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void readsMessageFromFile(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("message.eml");
+        Files.write(
+            file,
+            String.join(
+                "\r\n",
+                "From: jeff@example.com",
+                "To: walter@example.com",
+                "Subject: hi there",
+                "",
+                "hello"
+            ).getBytes(StandardCharsets.US_ASCII)
+        );
+        MatcherAssert.assertThat(
+            new Envelope.Raw(file).unwrap().getSubject(),
+            Matchers.equalTo("hi there")
+        );
+    }
+
+    /**
+     * Envelope.Raw can send to other recipients.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void sendsToOtherRecipients() throws Exception {
+        final Message msg = new Envelope.Raw(
+            new Envelope.Mime()
+                .with(new StSender("jeff@example.com"))
+                .with(new StRecipient("walter@example.com"))
+                .with(new EnPlain("hi"))
+        ).to(new InternetAddress("mike@example.com")).unwrap();
+        MatcherAssert.assertThat(
+            msg.getAllRecipients()[0].toString(),
+            Matchers.equalTo("mike@example.com")
+        );
+        MatcherAssert.assertThat(
+            msg.getRecipients(Message.RecipientType.TO)[0].toString(),
+            Matchers.equalTo("walter@example.com")
+        );
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.util.Arrays;
+import java.util.List;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Postman}.
+ * @since 2.0
+ */
+final class PostmanTest {
+
+    /**
+     * Postman.Batch can send all envelopes through one transport.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void sendsBatchThroughOneTransport() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        Mockito.doThrow(new SendFailedException("550 rejected"))
+            .doNothing()
+            .when(transport)
+            .sendMessage(
+                Mockito.any(Message.class), Mockito.any(Address[].class)
+            );
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final List<Delivery> done = new Postman.Batch(wire).sendAll(
+            Arrays.asList(
+                PostmanTest.envelope("first@example.com"),
+                PostmanTest.envelope("second@example.com")
+            )
+        );
+        MatcherAssert.assertThat(done.get(0).delivered(), Matchers.is(false));
+        MatcherAssert.assertThat(done.get(1).delivered(), Matchers.is(true));
+        Mockito.verify(wire, Mockito.times(1)).connect();
+        Mockito.verify(transport, Mockito.times(1)).close();
+    }
+
+    /**
+     * Postman.Batch can reconnect when the server drops the session.
+     * @throws Exception If fails
+     */
+    @Test
+    void reconnectsWhenSessionIsDropped() throws Exception {
+        final Transport broken = Mockito.mock(Transport.class);
+        Mockito.doThrow(new SendFailedException("connection reset"))
+            .when(broken)
+            .sendMessage(
+                Mockito.any(Message.class), Mockito.any(Address[].class)
+            );
+        final Transport fresh = Mockito.mock(Transport.class);
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(broken).doReturn(fresh).when(wire).connect();
+        final List<Delivery> done = new Postman.Batch(wire).sendAll(
+            Arrays.asList(
+                PostmanTest.envelope("one@example.com"),
+                PostmanTest.envelope("two@example.com")
+            )
+        );
+        MatcherAssert.assertThat(
+            done.get(0).delivered() && done.get(1).delivered(),
+            Matchers.is(true)
+        );
+        Mockito.verify(fresh, Mockito.times(2)).sendMessage(
+            Mockito.any(Message.class), Mockito.any(Address[].class)
+        );
+    }
+
+    /**
+     * Make an envelope.
+     * @param rcpt Recipient
+     * @return Envelope
+     */
+    private static Envelope envelope(final String rcpt) {
+        return new Envelope.Mime()
+            .with(new StSender("from@example.com"))
+            .with(new StRecipient(rcpt))
+            .with(new StSubject("batch"));
+    }
+}
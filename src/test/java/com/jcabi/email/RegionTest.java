@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.enclosure.EnStream;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSubject;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Region}.
+ * @since 2.0
+ */
+final class RegionTest {
+
+    /**
+     * Region can keep the message of the envelope.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void keepsMessage() throws Exception {
+        final Envelope origin = Mockito.mock(Envelope.class);
+        Mockito.doReturn(
+            new MimeMessage(Session.getDefaultInstance(new Properties()))
+        ).when(origin).unwrap();
+        final Region region = new Region("keeps");
+        region.message(origin);
+        region.message(origin);
+        Mockito.verify(origin, Mockito.times(1)).unwrap();
+        MatcherAssert.assertThat(
+            region.stats().hitCount(),
+            Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            region.stats().missCount(),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    /**
+     * Region can evict messages above its limit.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void evictsMessagesAboveLimit() throws Exception {
+        final Region region = new Region("evicts", 65_536L);
+        for (int idx = 0; idx < 50; ++idx) {
+            region.message(
+                new Envelope.Mime()
+                    .with(new StRecipient("jeff@example.com"))
+                    .with(new StSubject(String.format("report #%d", idx)))
+                    .with(new EnPlain(Strings.repeat("x", 4000) + idx))
+            );
+        }
+        MatcherAssert.assertThat(
+            region.size(),
+            Matchers.allOf(
+                Matchers.greaterThan(0L),
+                Matchers.lessThanOrEqualTo(65_536L)
+            )
+        );
+        MatcherAssert.assertThat(
+            region.stats().evictionCount(),
+            Matchers.greaterThan(0L)
+        );
+    }
+
+    /**
+     * Region can tell envelopes with different stamps apart.
+     * @throws Exception If fails
+     */
+    @Test
+    void tellsStampsApart() throws Exception {
+        final Region region = new Region("stamps");
+        final Envelope.Mime env = new Envelope.Mime()
+            .with(new EnPlain("hi"));
+        MatcherAssert.assertThat(
+            region.message(env.with(new StSubject("first"))).getSubject(),
+            Matchers.not(
+                Matchers.equalTo(
+                    region.message(
+                        env.with(new StSubject("second"))
+                    ).getSubject()
+                )
+            )
+        );
+    }
+
+    /**
+     * Envelopes with the same region can share messages.
+     * @throws Exception If fails
+     */
+    @Test
+    void sharesMessagesInRegion() throws Exception {
+        final Envelope env = new Envelope.Mime()
+            .with(new StSubject("shared"))
+            .with(new EnPlain("hello"));
+        final Region region = new Region("shared");
+        MatcherAssert.assertThat(
+            new Envelope.Constant(env, region).unwrap(),
+            Matchers.sameInstance(new Envelope.Constant(env, region).unwrap())
+        );
+    }
+
+    /**
+     * Regions with the same name can keep messages apart.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void keepsRegionsWithSameNameApart() throws Exception {
+        final Envelope env = new Envelope.Mime()
+            .with(new StSubject("apart"))
+            .with(new EnPlain("hello"));
+        final Region first = new Region("twins", 65_536L);
+        final Region second = new Region("twins", 1L);
+        MatcherAssert.assertThat(
+            first.message(env),
+            Matchers.not(Matchers.sameInstance(second.message(env)))
+        );
+        MatcherAssert.assertThat(
+            first,
+            Matchers.not(Matchers.equalTo(second))
+        );
+        MatcherAssert.assertThat(second.size(), Matchers.equalTo(0L));
+    }
+
+    /**
+     * Region can read the content of the envelope once, to keep both
+     * its message and its rendered form.
+     * @throws Exception If fails
+     */
+    @Test
+    void readsStreamOnce() throws Exception {
+        final AtomicInteger opened = new AtomicInteger();
+        final Envelope env = new Envelope.Mime()
+            .with(new StSubject("once"))
+            .with(
+                new EnStream(
+                    () -> {
+                        opened.incrementAndGet();
+                        return new ByteArrayInputStream(
+                            "streamed".getBytes(StandardCharsets.UTF_8)
+                        );
+                    },
+                    "once.txt",
+                    "text/plain"
+                )
+            );
+        final Region region = new Region("once");
+        region.message(env).writeTo(ByteStreams.nullOutputStream());
+        region.rendered(env);
+        MatcherAssert.assertThat(opened.get(), Matchers.equalTo(1));
+    }
+}
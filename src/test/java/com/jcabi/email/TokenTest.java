@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Token}.
+ * @since 2.0
+ */
+final class TokenTest {
+
+    /**
+     * Token can reuse the session for the same credentials.
+     */
+    @Test
+    void reusesSessionForSameCredentials() {
+        MatcherAssert.assertThat(
+            new Token("jeff", "secret").access(
+                new Protocol.Smtp("mail.example.com", 25)
+            ),
+            Matchers.sameInstance(
+                new Token("jeff", "secret").access(
+                    new Protocol.Smtp("mail.example.com", 25)
+                )
+            )
+        );
+    }
+
+    /**
+     * Token can make different sessions for different credentials.
+     */
+    @Test
+    void makesNewSessionForOtherUser() {
+        MatcherAssert.assertThat(
+            new Token("walter", "secret").access(
+                new Protocol.Smtp("mail.example.com", 25)
+            ),
+            Matchers.not(
+                Matchers.sameInstance(
+                    new Token("donny", "secret").access(
+                        new Protocol.Smtp("mail.example.com", 25)
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Token can make different sessions for different protocols.
+     */
+    @Test
+    void makesNewSessionForOtherProtocol() {
+        MatcherAssert.assertThat(
+            new Token("maude", "secret").access(
+                new Protocol.Smtp("mail.example.com", 25)
+            ),
+            Matchers.not(
+                Matchers.sameInstance(
+                    new Token("maude", "secret").access(
+                        new Protocol.Smtps("mail.example.com", 465)
+                    )
+                )
+            )
+        );
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Base64Mime}.
+ * @since 2.0
+ */
+final class Base64MimeTest {
+
+    /**
+     * Base64Mime can encode bytes given in pieces of any size.
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesPieces() throws Exception {
+        final byte[] data = new byte[10_000];
+        new Random(0L).nextBytes(data);
+        for (final int piece : new int[] {1, 56, 57, 100, 10_000}) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final Base64Mime base = new Base64Mime(out, 57 * 3);
+            for (int pos = 0; pos < data.length; pos += piece) {
+                base.write(
+                    ByteBuffer.wrap(
+                        data, pos, Math.min(piece, data.length - pos)
+                    )
+                );
+            }
+            base.finish();
+            MatcherAssert.assertThat(
+                out.toByteArray(),
+                Matchers.equalTo(Base64.getMimeEncoder().encode(data))
+            );
+        }
+    }
+
+    /**
+     * Base64Mime can encode everything read from a channel.
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesChannel() throws Exception {
+        final byte[] data = new byte[1000];
+        new Random(1L).nextBytes(data);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Base64Mime base = new Base64Mime(out, 100);
+        base.write(Channels.newChannel(new ByteArrayInputStream(data)));
+        base.finish();
+        MatcherAssert.assertThat(
+            Base64.getMimeDecoder().decode(
+                new String(out.toByteArray(), StandardCharsets.US_ASCII)
+            ),
+            Matchers.equalTo(data)
+        );
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import javax.mail.internet.MimeBodyPart;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Base64Part}.
+ * @since 2.0
+ */
+final class Base64PartTest {
+
+    /**
+     * Base64Part can encode files of any size.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesFilesOfAnySize(@TempDir final Path dir) throws Exception {
+        for (final int size : new int[] {0, 1, 57, 58, 58_368, 58_369}) {
+            final byte[] data = new byte[size];
+            new Random(size).nextBytes(data);
+            final Path file = dir.resolve(String.format("%d.bin", size));
+            Files.write(file, data);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new Base64Part(file).writeTo(out);
+            try (InputStream input = new MimeBodyPart(
+                new ByteArrayInputStream(out.toByteArray())
+            ).getInputStream()) {
+                MatcherAssert.assertThat(
+                    IOUtils.toByteArray(input),
+                    Matchers.equalTo(data)
+                );
+            }
+        }
+    }
+
+    /**
+     * Base64Part can keep lines short.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void keepsLinesShort(@TempDir final Path dir) throws Exception {
+        final byte[] data = new byte[100_000];
+        new Random(0L).nextBytes(data);
+        final Path file = dir.resolve("lines.bin");
+        Files.write(file, data);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Base64Part(file).writeTo(out);
+        for (final String line
+            : out.toString(StandardCharsets.US_ASCII.name()).split("\r\n")) {
+            MatcherAssert.assertThat(line.length(), Matchers.lessThan(77));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javax.mail.internet.MimeBodyPart;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Bodies}.
+ * @since 2.0
+ */
+final class BodiesTest {
+
+    /**
+     * Bodies can encode a part only once.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void encodesOnlyOnce() throws Exception {
+        final Bodies bodies = new Bodies(1L << 20);
+        final MimeBodyPart first = bodies.part(
+            "a", new EnPlain("привет").part()
+        );
+        final MimeBodyPart second = bodies.part(
+            "a", new EnPlain("something else").part()
+        );
+        MatcherAssert.assertThat(
+            bodies.stats().loadCount(),
+            Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            BodiesTest.bytes(second),
+            Matchers.equalTo(BodiesTest.bytes(first))
+        );
+        try (InputStream input = second.getInputStream()) {
+            MatcherAssert.assertThat(
+                IOUtils.toString(input, StandardCharsets.UTF_8),
+                Matchers.equalTo("привет")
+            );
+        }
+    }
+
+    /**
+     * Bodies can evict parts when they are too big.
+     * @throws Exception If fails
+     */
+    @Test
+    void evictsParts() throws Exception {
+        final Bodies bodies = new Bodies(1000L);
+        for (int idx = 0; idx < 20; ++idx) {
+            bodies.part(
+                String.valueOf(idx),
+                new EnPlain(String.format("text number %d", idx)).part()
+            );
+        }
+        MatcherAssert.assertThat(
+            bodies.size(),
+            Matchers.lessThanOrEqualTo(1000L)
+        );
+    }
+
+    /**
+     * Bodies can keep parts in files and delete them.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void keepsPartsInFiles(@TempDir final Path dir) throws Exception {
+        final Path store = dir.resolve("store");
+        final Bodies bodies = new Bodies(1L << 20, store);
+        final MimeBodyPart part = bodies.part(
+            "b", new EnHtml("<p>hello</p>").part()
+        );
+        MatcherAssert.assertThat(
+            BodiesTest.count(store),
+            Matchers.equalTo(1L)
+        );
+        try (InputStream input = part.getInputStream()) {
+            MatcherAssert.assertThat(
+                IOUtils.toString(input, StandardCharsets.UTF_8),
+                Matchers.equalTo("<p>hello</p>")
+            );
+        }
+        bodies.close();
+        MatcherAssert.assertThat(
+            BodiesTest.count(store),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    /**
+     * Render the part.
+     * @param part The part
+     * @return Bytes
+     * @throws Exception If fails
+     */
+    private static byte[] bytes(final MimeBodyPart part) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        part.writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Count files in the directory.
+     * @param dir The directory
+     * @return Number of files
+     * @throws Exception If fails
+     */
+    private static long count(final Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
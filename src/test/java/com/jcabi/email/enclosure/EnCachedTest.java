@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.stamp.StSubject;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import javax.mail.Message;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link EnCached}.
+ * @since 2.0
+ */
+final class EnCachedTest {
+
+    /**
+     * EnCached can render the same message as the enclosure it caches.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void rendersSameMessage(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("data.bin");
+        final byte[] data = new byte[100_000];
+        new Random(0L).nextBytes(data);
+        Files.write(file, data);
+        final Bodies bodies = new Bodies(1L << 20);
+        final EnBinary bin = new EnBinary(
+            file.toFile(), "data.bin", "application/octet-stream"
+        );
+        final EnHtml html = new EnHtml("<p>привет</p>");
+        final String plain = EnCachedTest.render(
+            new Envelope.Mime().with(new StSubject("hi")).with(html).with(bin)
+        );
+        for (int idx = 0; idx < 2; ++idx) {
+            MatcherAssert.assertThat(
+                EnCachedTest.render(
+                    new Envelope.Mime()
+                        .with(new StSubject("hi"))
+                        .with(new EnCached(html, bodies))
+                        .with(new EnCached(bin, bodies))
+                ),
+                Matchers.equalTo(plain)
+            );
+        }
+    }
+
+    /**
+     * EnCached can share parts with the same content.
+     * @throws Exception If fails
+     */
+    @Test
+    void sharesSameContent() throws Exception {
+        final Bodies bodies = new Bodies(1L << 20);
+        new EnCached(new EnPlain("hello"), bodies).part();
+        new EnCached(new EnPlain("hello"), bodies).part();
+        new EnCached(new EnPlain("bye"), bodies).part();
+        MatcherAssert.assertThat(
+            bodies.stats().loadCount(),
+            Matchers.equalTo(2L)
+        );
+    }
+
+    /**
+     * EnCached can encode a file again when it's modified.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesModifiedFile(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("a.txt");
+        Files.write(file, new byte[] {1, 2, 3});
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000L));
+        final Bodies bodies = new Bodies(1L << 20);
+        final EnCached enc = new EnCached(
+            new EnBinary(file.toFile(), "a.txt", "text/plain"), bodies
+        );
+        enc.part();
+        Files.write(file, new byte[] {4, 5, 6});
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2000L));
+        enc.part();
+        MatcherAssert.assertThat(
+            bodies.stats().loadCount(),
+            Matchers.equalTo(2L)
+        );
+    }
+
+    /**
+     * Render the envelope, without headers that are different each time.
+     * @param env Envelope
+     * @return Text
+     * @throws Exception If fails
+     */
+    private static String render(final Envelope env) throws Exception {
+        final Message msg = env.unwrap();
+        msg.saveChanges();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        msg.writeTo(out);
+        return out.toString("ISO-8859-1")
+            .replaceAll("(?m)^(Message-ID|Date):.*\r\n", "")
+            .replaceAll("_Part_[0-9_.]+", "");
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import javax.mail.internet.MimeBodyPart;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link EnReader}.
+ * @since 2.0
+ */
+final class EnReaderTest {
+
+    /**
+     * EnReader can encode text in quoted-printable.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void encodesText() throws Exception {
+        final String text = String.format(
+            "Привет, мир! \r\n%s\r\nend ",
+            String.join("", Collections.nCopies(100, "long="))
+        );
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new EnReader(() -> new StringReader(text)).part().writeTo(out);
+        final String encoded = new String(
+            out.toByteArray(), StandardCharsets.US_ASCII
+        );
+        MatcherAssert.assertThat(
+            encoded,
+            Matchers.containsString(
+                "Content-Transfer-Encoding: quoted-printable"
+            )
+        );
+        for (final String line : encoded.split("\r\n")) {
+            MatcherAssert.assertThat(
+                line.length(),
+                Matchers.lessThanOrEqualTo(76)
+            );
+        }
+        MatcherAssert.assertThat(
+            new MimeBodyPart(
+                new ByteArrayInputStream(out.toByteArray())
+            ).getContent(),
+            Matchers.equalTo(text)
+        );
+    }
+
+    /**
+     * EnReader can use the charset and the type given.
+     * @throws Exception If fails
+     */
+    @Test
+    void usesCharset() throws Exception {
+        MatcherAssert.assertThat(
+            new EnReader(
+                () -> new StringReader("<p>hi</p>"), "ISO-8859-1", "text/html"
+            ).part().getContentType(),
+            Matchers.equalTo("text/html; charset=ISO-8859-1")
+        );
+    }
+}
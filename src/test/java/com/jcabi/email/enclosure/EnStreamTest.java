@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.internet.MimeBodyPart;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link EnStream}.
+ * @since 2.0
+ */
+final class EnStreamTest {
+
+    /**
+     * EnStream can read the stream only when the part is written.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void readsStreamLazily() throws Exception {
+        final byte[] data = new byte[200_000];
+        new Random(0L).nextBytes(data);
+        final AtomicInteger opened = new AtomicInteger();
+        final MimeBodyPart part = new EnStream(
+            () -> {
+                opened.incrementAndGet();
+                return new ByteArrayInputStream(data);
+            },
+            "data.bin",
+            "application/octet-stream"
+        ).part();
+        MatcherAssert.assertThat(opened.get(), Matchers.equalTo(0));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        part.writeTo(out);
+        MatcherAssert.assertThat(opened.get(), Matchers.equalTo(1));
+        final MimeBodyPart back = new MimeBodyPart(
+            new ByteArrayInputStream(out.toByteArray())
+        );
+        MatcherAssert.assertThat(
+            back.getFileName(),
+            Matchers.equalTo("data.bin")
+        );
+        try (InputStream input = back.getInputStream()) {
+            MatcherAssert.assertThat(
+                IOUtils.toByteArray(input),
+                Matchers.equalTo(data)
+            );
+        }
+    }
+
+    /**
+     * EnStream can read a channel.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void readsChannel(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("a.bin");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5});
+        try (InputStream input = new EnStream(
+            () -> Files.newByteChannel(file), "a.bin", "application/pdf"
+        ).part().getInputStream()) {
+            MatcherAssert.assertThat(
+                IOUtils.toByteArray(input),
+                Matchers.equalTo(new byte[] {1, 2, 3, 4, 5})
+            );
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.enclosure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import javax.mail.internet.MimeUtility;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link QuotedPrintable}.
+ * @since 2.0
+ */
+final class QuotedPrintableTest {
+
+    /**
+     * QuotedPrintable can encode text.
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesText() throws Exception {
+        MatcherAssert.assertThat(
+            QuotedPrintableTest.encode(
+                "a=b \nc\té \r\nend ".getBytes(StandardCharsets.UTF_8)
+            ),
+            Matchers.equalTo("a=3Db=20\r\nc\t=C3=A9=20\r\nend=20")
+        );
+    }
+
+    /**
+     * QuotedPrintable can break long lines without breaking escapes.
+     * @throws Exception If fails
+     */
+    @Test
+    void breaksLongLines() throws Exception {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < 100; ++idx) {
+            text.append("x=");
+        }
+        final String encoded = QuotedPrintableTest.encode(
+            text.toString().getBytes(StandardCharsets.US_ASCII)
+        );
+        for (final String line : encoded.split("\r\n")) {
+            MatcherAssert.assertThat(
+                line,
+                Matchers.matchesPattern("([^=]|=3D)*=?")
+            );
+            MatcherAssert.assertThat(
+                line.length(),
+                Matchers.lessThanOrEqualTo(76)
+            );
+        }
+    }
+
+    /**
+     * QuotedPrintable can encode any bytes so that they are decoded back.
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesAnyBytes() throws Exception {
+        final byte[] alphabet = " \t=a.Zÿ\u0080"
+            .getBytes(StandardCharsets.ISO_8859_1);
+        final Random random = new Random(0L);
+        for (int attempt = 0; attempt < 100; ++attempt) {
+            final byte[] data = new byte[random.nextInt(500)];
+            for (int idx = 0; idx < data.length; ++idx) {
+                data[idx] = alphabet[random.nextInt(alphabet.length)];
+            }
+            try (InputStream input = MimeUtility.decode(
+                new ByteArrayInputStream(
+                    QuotedPrintableTest.encode(data)
+                        .getBytes(StandardCharsets.US_ASCII)
+                ),
+                "quoted-printable"
+            )) {
+                MatcherAssert.assertThat(
+                    IOUtils.toByteArray(input),
+                    Matchers.equalTo(data)
+                );
+            }
+        }
+    }
+
+    /**
+     * Encode bytes.
+     * @param data Bytes
+     * @return Encoded text
+     * @throws Exception If fails
+     */
+    private static String encode(final byte[] data) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final QuotedPrintable qpe = new QuotedPrintable(out, 16);
+        qpe.write(ByteBuffer.wrap(data));
+        qpe.finish();
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.merge;
+
+import java.nio.charset.StandardCharsets;
+import javax.mail.internet.MimeUtility;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link QuotedText}.
+ * @since 2.0
+ */
+final class QuotedTextTest {
+
+    /**
+     * QuotedText can encode text.
+     */
+    @Test
+    void encodesText() {
+        MatcherAssert.assertThat(
+            QuotedText.encode("a = é \nb\r\n", StandardCharsets.UTF_8),
+            Matchers.equalTo("a =3D =C3=A9=20\r\nb\r\n")
+        );
+    }
+
+    /**
+     * QuotedText can wrap long lines without breaking escapes.
+     */
+    @Test
+    void wrapsLines() {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < 74; ++idx) {
+            text.append('x');
+        }
+        text.append("=C3=A9\r\nyz");
+        MatcherAssert.assertThat(
+            QuotedText.wrap(text),
+            Matchers.equalTo(
+                text.substring(0, 74).concat("=\r\n=C3=A9\r\nyz")
+            )
+        );
+    }
+
+    /**
+     * QuotedText can encode words that are decoded back.
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesWords() throws Exception {
+        final String text = "Привет, world! This is a rather long subject";
+        MatcherAssert.assertThat(
+            MimeUtility.decodeText(
+                QuotedText.words(text, StandardCharsets.UTF_8).trim()
+            ),
+            Matchers.equalTo(text)
+        );
+    }
+}
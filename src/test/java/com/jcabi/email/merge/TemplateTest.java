@@ -0,0 +1,201 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.merge;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.enclosure.EnHtml;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.stamp.StHeader;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Properties;
+import javax.mail.Message;
+import javax.mail.Multipart;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Template}.
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class TemplateTest {
+
+    /**
+     * Template can replace placeholders in the subject.
+     * @throws Exception If fails
+     */
+    @Test
+    void mergesSubject() throws Exception {
+        MatcherAssert.assertThat(
+            TemplateTest.sent(
+                new Template(TemplateTest.envelope()).merge(
+                    Collections.singletonMap("name", "Анна"),
+                    new StRecipient("anna@example.com")
+                )
+            ).getSubject(),
+            Matchers.equalTo("Привет, Анна! Your order is ready")
+        );
+    }
+
+    /**
+     * Template can replace placeholders in text parts.
+     * @throws Exception If fails
+     */
+    @Test
+    void mergesText() throws Exception {
+        final Multipart multi = Multipart.class.cast(
+            TemplateTest.sent(
+                new Template(TemplateTest.envelope()).merge(
+                    Collections.singletonMap("name", "Tom & Jerry"),
+                    new StRecipient("tom@example.com")
+                )
+            ).getContent()
+        );
+        MatcherAssert.assertThat(
+            multi.getBodyPart(0).getContent(),
+            Matchers.equalTo("Dear Tom & Jerry,\r\nthanks = fine.")
+        );
+        MatcherAssert.assertThat(
+            multi.getBodyPart(1).getContent(),
+            Matchers.equalTo("<p>Dear Tom &amp; Jerry</p>")
+        );
+    }
+
+    /**
+     * Template can keep static headers and add stamps.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void keepsHeaders() throws Exception {
+        final Message msg = TemplateTest.sent(
+            new Template(TemplateTest.envelope()).merge(
+                Collections.singletonMap("name", "Bob"),
+                new StRecipient("bob@example.com")
+            )
+        );
+        MatcherAssert.assertThat(
+            msg.getFrom()[0].toString(),
+            Matchers.equalTo("Jeff <jeff@example.com>")
+        );
+        MatcherAssert.assertThat(
+            msg.getHeader("X-Campaign")[0],
+            Matchers.equalTo("spring")
+        );
+        MatcherAssert.assertThat(
+            msg.getAllRecipients()[0].toString(),
+            Matchers.equalTo("bob@example.com")
+        );
+    }
+
+    /**
+     * Template can make fresh Date and Message-ID for every message.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void makesDateAndMessageId() throws Exception {
+        final Template template = new Template(TemplateTest.envelope());
+        final Message first = TemplateTest.sent(
+            template.merge(
+                Collections.singletonMap("name", "Ann"),
+                new StRecipient("ann@example.com")
+            )
+        );
+        final Message second = TemplateTest.sent(
+            template.merge(
+                Collections.singletonMap("name", "Ben"),
+                new StRecipient("ben@example.com")
+            )
+        );
+        MatcherAssert.assertThat(
+            first.getSentDate(),
+            Matchers.notNullValue()
+        );
+        MatcherAssert.assertThat(
+            first.getHeader("Message-ID")[0],
+            Matchers.endsWith("@example.com>")
+        );
+        MatcherAssert.assertThat(
+            first.getHeader("Message-ID")[0],
+            Matchers.not(Matchers.equalTo(second.getHeader("Message-ID")[0]))
+        );
+    }
+
+    /**
+     * Template can keep lines of long text short.
+     * @throws Exception If fails
+     */
+    @Test
+    void wrapsLongLines() throws Exception {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < 50; ++idx) {
+            text.append("{{word}} ");
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Template(
+            new Envelope.Mime()
+                .with(new StSender("from@example.com"))
+                .with(new StSubject("hi"))
+                .with(new EnPlain(text.toString()))
+        ).merge(Collections.singletonMap("word", "слово")).unwrap()
+            .writeTo(out);
+        for (final String line
+            : out.toString(StandardCharsets.ISO_8859_1.name()).split("\r\n")) {
+            MatcherAssert.assertThat(line.length(), Matchers.lessThan(77));
+        }
+    }
+
+    /**
+     * Template can reject a missing value.
+     * @throws Exception If fails
+     */
+    @Test
+    void rejectsMissingValue() throws Exception {
+        final Template template = new Template(TemplateTest.envelope());
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> template.merge(Collections.emptyMap())
+        );
+    }
+
+    /**
+     * Envelope with placeholders.
+     * @return Envelope
+     */
+    private static Envelope envelope() {
+        return new Envelope.Mime()
+            .with(new StSender("Jeff <jeff@example.com>"))
+            .with(new StHeader("X-Campaign", "spring"))
+            .with(new StSubject("Привет, {{name}}! Your order is ready"))
+            .with(new EnPlain("Dear {{name}},\nthanks = fine."))
+            .with(new EnHtml("<p>Dear {{ name }}</p>"));
+    }
+
+    /**
+     * Send the envelope and parse what is sent.
+     * @param env Envelope
+     * @return Message received
+     * @throws Exception If fails
+     */
+    private static Message sent(final Envelope env) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        env.unwrap().writeTo(out);
+        return new MimeMessage(
+            Session.getInstance(new Properties()),
+            new ByteArrayInputStream(out.toByteArray())
+        );
+    }
+}
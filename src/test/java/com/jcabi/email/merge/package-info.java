@@ -0,0 +1,10 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+
+/**
+ * Mail merge, many personal envelopes from one template, tests.
+ * @since 2.0
+ */
+package com.jcabi.email.merge;
@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Bucket}.
+ * @since 2.0
+ */
+final class BucketTest {
+
+    /**
+     * Bucket can let a burst through and then stop.
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void letsBurstThrough() {
+        final Bucket bucket = new Bucket(1.0d, 3);
+        MatcherAssert.assertThat(bucket.take(), Matchers.is(true));
+        MatcherAssert.assertThat(bucket.take(), Matchers.is(true));
+        MatcherAssert.assertThat(bucket.take(), Matchers.is(true));
+        MatcherAssert.assertThat(bucket.take(), Matchers.is(false));
+    }
+
+    /**
+     * Bucket can reserve a token in the future.
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void reservesInFuture() {
+        final Bucket bucket = new Bucket(2.0d, 1);
+        MatcherAssert.assertThat(bucket.reserve(0L), Matchers.equalTo(0L));
+        MatcherAssert.assertThat(bucket.reserve(100L), Matchers.equalTo(-1L));
+        MatcherAssert.assertThat(
+            bucket.reserve(1000L),
+            Matchers.allOf(
+                Matchers.greaterThan(0L),
+                Matchers.lessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(500L))
+            )
+        );
+    }
+
+    /**
+     * Bucket can take back a cancelled token.
+     */
+    @Test
+    void takesBackCancelledToken() {
+        final Bucket bucket = new Bucket(1.0d, 1);
+        bucket.take();
+        bucket.cancel();
+        MatcherAssert.assertThat(bucket.take(), Matchers.is(true));
+    }
+
+    /**
+     * Bucket can give out exactly its tokens to many threads.
+     * @throws Exception If fails
+     */
+    @Test
+    void givesOutTokensConcurrently() throws Exception {
+        final Bucket bucket = new Bucket(0.01d, 100);
+        final AtomicInteger taken = new AtomicInteger();
+        final ExecutorService service = Executors.newFixedThreadPool(16);
+        for (int thread = 0; thread < 16; ++thread) {
+            service.submit(
+                () -> {
+                    for (int idx = 0; idx < 100; ++idx) {
+                        if (bucket.take()) {
+                            taken.incrementAndGet();
+                        }
+                    }
+                }
+            );
+        }
+        service.shutdown();
+        service.awaitTermination(1L, TimeUnit.MINUTES);
+        MatcherAssert.assertThat(taken.get(), Matchers.equalTo(100));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import java.util.List;
+import javax.mail.Address;
+import javax.mail.internet.InternetAddress;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Plan}.
+ * @since 2.0
+ */
+final class PlanTest {
+
+    /**
+     * Plan can remove duplicates.
+     * @throws Exception If fails
+     */
+    @Test
+    void removesDuplicates() throws Exception {
+        final List<Address[]> plan = new Plan(
+            InternetAddress.parse(
+                "Jeff <jeff@example.com>, jeff@EXAMPLE.com, Jeff@example.com"
+            ),
+            10
+        ).transactions();
+        MatcherAssert.assertThat(plan.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            plan.get(0),
+            Matchers.arrayContaining(new InternetAddress("jeff@example.com"))
+        );
+    }
+
+    /**
+     * Plan can group recipients by domain.
+     * @throws Exception If fails
+     */
+    @Test
+    void groupsByDomain() throws Exception {
+        final List<Address[]> plan = new Plan(
+            InternetAddress.parse(
+                "a@example.com, b@example.org, c@example.com"
+            ),
+            10
+        ).transactions();
+        MatcherAssert.assertThat(plan.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            plan.get(0),
+            Matchers.arrayContaining(
+                new InternetAddress("a@example.com"),
+                new InternetAddress("c@example.com")
+            )
+        );
+    }
+
+    /**
+     * Plan can split long lists.
+     * @throws Exception If fails
+     */
+    @Test
+    void splitsLongLists() throws Exception {
+        final List<Address[]> plan = new Plan(
+            InternetAddress.parse(
+                "a@example.com, b@example.com, c@example.com, d@example.com"
+            ),
+            3
+        ).transactions();
+        MatcherAssert.assertThat(plan.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(plan.get(1).length, Matchers.equalTo(1));
+    }
+
+    /**
+     * Plan can accept NULL instead of recipients.
+     */
+    @Test
+    void acceptsNoRecipients() {
+        MatcherAssert.assertThat(
+            new Plan((Address[]) null, 1).transactions(),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * Plan can reject a wrong limit.
+     * @throws Exception If fails
+     */
+    @Test
+    void rejectsWrongLimit() throws Exception {
+        final Plan plan = new Plan(InternetAddress.parse("a@example.com"), 0);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            plan::transactions
+        );
+    }
+}
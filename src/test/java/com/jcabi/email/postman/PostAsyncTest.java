@@ -0,0 +1,126 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Delivery;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.stamp.StRecipient;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link PostAsync}.
+ * @since 2.0
+ */
+final class PostAsyncTest {
+
+    /**
+     * PostAsync can report a failure in the future.
+     * @throws Exception If fails
+     */
+    @Test
+    void reportsFailureInFuture() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        Mockito.doThrow(new IOException("451 try later"))
+            .when(post).send(Mockito.any(Envelope.class));
+        try (PostAsync async = new PostAsync(post)) {
+            MatcherAssert.assertThat(
+                async.deliver(
+                    new Envelope.Mime().with(new StRecipient("a@example.com"))
+                ).get(1L, TimeUnit.MINUTES).delivered(),
+                Matchers.is(false)
+            );
+        }
+    }
+
+    /**
+     * PostAsync can send all queued envelopes before closing.
+     * @throws Exception If fails
+     */
+    @Test
+    void drainsQueueOnClose() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        try (PostAsync async = new PostAsync(post, 2)) {
+            for (int idx = 0; idx < 20; ++idx) {
+                async.send(
+                    new Envelope.Mime().with(new StRecipient("b@example.com"))
+                );
+            }
+        }
+        Mockito.verify(post, Mockito.times(20))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostAsync can limit the number of envelopes in flight.
+     * @throws Exception If fails
+     */
+    @Test
+    void limitsEnvelopesInFlight() throws Exception {
+        final AtomicInteger now = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final Postman post = env -> {
+            peak.accumulateAndGet(now.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(10L);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            now.decrementAndGet();
+        };
+        try (PostAsync async = new PostAsync(post, 3)) {
+            for (int idx = 0; idx < 30; ++idx) {
+                async.send(Envelope.EMPTY);
+            }
+        }
+        MatcherAssert.assertThat(peak.get(), Matchers.lessThanOrEqualTo(3));
+    }
+
+    /**
+     * PostAsync can complete all futures when interrupted on close.
+     * @throws Exception If fails
+     */
+    @Test
+    void completesFuturesWhenInterrupted() throws Exception {
+        final Postman post = env -> {
+            try {
+                TimeUnit.MINUTES.sleep(1L);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        };
+        final PostAsync async = new PostAsync(
+            post, 1, Executors.newSingleThreadExecutor()
+        );
+        final List<CompletableFuture<Delivery>> futures =
+            new ArrayList<>(5);
+        for (int idx = 0; idx < 5; ++idx) {
+            futures.add(async.deliver(Envelope.EMPTY));
+        }
+        Thread.currentThread().interrupt();
+        try {
+            async.close();
+        } finally {
+            Thread.interrupted();
+        }
+        for (final CompletableFuture<Delivery> future : futures) {
+            MatcherAssert.assertThat(
+                future.get(1L, TimeUnit.MINUTES).delivered(),
+                Matchers.is(false)
+            );
+        }
+    }
+}
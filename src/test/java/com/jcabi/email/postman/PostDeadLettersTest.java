@@ -0,0 +1,94 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.spool.DeadLetters;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import javax.mail.Address;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link PostDeadLetters}.
+ * @since 2.0
+ */
+final class PostDeadLettersTest {
+
+    /**
+     * PostDeadLetters can keep a failed message and throw.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void keepsFailedMessage(@TempDir final Path dir) throws Exception {
+        try (DeadLetters letters = new DeadLetters(dir)) {
+            final Postman postman = new PostDeadLetters(
+                env -> {
+                    throw new IOException(
+                        new SMTPSendFailedException(
+                            "DATA", 554, "554 rejected", null,
+                            new Address[0], new Address[0], new Address[0]
+                        )
+                    );
+                },
+                letters
+            );
+            Assertions.assertThrows(
+                IOException.class,
+                () -> postman.send(
+                    new Envelope.Mime()
+                        .with(new StSender("from@example.com"))
+                        .with(new StRecipient("jeff@Example.ORG"))
+                        .with(new StSubject("failed"))
+                        .with(new EnPlain("hello"))
+                )
+            );
+            final List<DeadLetters.Letter> found =
+                letters.find(new DeadLetters.Query());
+            MatcherAssert.assertThat(found, Matchers.hasSize(1));
+            MatcherAssert.assertThat(
+                found.get(0).code(), Matchers.equalTo(554)
+            );
+            MatcherAssert.assertThat(
+                found.get(0).domains(), Matchers.contains("example.org")
+            );
+            MatcherAssert.assertThat(
+                found.get(0).message().getSubject(),
+                Matchers.equalTo("failed")
+            );
+        }
+    }
+
+    /**
+     * PostDeadLetters can leave successful messages alone.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void ignoresSentMessages(@TempDir final Path dir) throws Exception {
+        try (DeadLetters letters = new DeadLetters(dir)) {
+            new PostDeadLetters(Mockito.mock(Postman.class), letters)
+                .send(Envelope.EMPTY);
+            MatcherAssert.assertThat(
+                letters.find(new DeadLetters.Query()),
+                Matchers.empty()
+            );
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.spool.Ledger;
+import com.jcabi.email.stamp.StHeader;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link PostIdempotent}.
+ * @since 2.0
+ */
+final class PostIdempotentTest {
+
+    /**
+     * PostIdempotent can drop an envelope with the same content.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void dropsSameContent(@TempDir final Path dir) throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        try (Ledger ledger = new Ledger(dir.resolve("ledger"))) {
+            final Postman postman = new PostIdempotent(post, ledger);
+            postman.send(PostIdempotentTest.envelope("hello"));
+            postman.send(PostIdempotentTest.envelope("hello"));
+            postman.send(PostIdempotentTest.envelope("bye"));
+        }
+        Mockito.verify(post, Mockito.times(2))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostIdempotent can drop an envelope with the same Message-ID.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void dropsSameMessageId(@TempDir final Path dir) throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        try (Ledger ledger = new Ledger(dir.resolve("ledger"))) {
+            final Postman postman = new PostIdempotent(post, ledger);
+            postman.send(
+                PostIdempotentTest.envelope("first")
+                    .with(new StHeader("Message-ID", "<1@example.com>"))
+            );
+            postman.send(
+                PostIdempotentTest.envelope("second")
+                    .with(new StHeader("Message-ID", "<1@example.com>"))
+            );
+        }
+        Mockito.verify(post).send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostIdempotent can send again after a failure.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void sendsAgainAfterFailure(@TempDir final Path dir) throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        Mockito.doThrow(new IOException("failed")).doNothing()
+            .when(post).send(Mockito.any(Envelope.class));
+        try (Ledger ledger = new Ledger(dir.resolve("ledger"))) {
+            final Postman postman = new PostIdempotent(post, ledger);
+            Assertions.assertThrows(
+                IOException.class,
+                () -> postman.send(PostIdempotentTest.envelope("retry"))
+            );
+            postman.send(PostIdempotentTest.envelope("retry"));
+        }
+        Mockito.verify(post, Mockito.times(2))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * Make an envelope.
+     * @param text Content
+     * @return Envelope
+     */
+    private static Envelope.Mime envelope(final String text) {
+        return new Envelope.Mime()
+            .with(new StSender("from@example.com"))
+            .with(new StRecipient("to@example.com"))
+            .with(new StSubject("hello"))
+            .with(new EnPlain(text));
+    }
+}
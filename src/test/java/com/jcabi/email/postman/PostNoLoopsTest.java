@@ -6,8 +6,16 @@ package com.jcabi.email.postman;
 
 import com.jcabi.email.Envelope;
 import com.jcabi.email.Postman;
+import com.jcabi.email.Wire;
 import com.jcabi.email.stamp.StRecipient;
 import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.Transport;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -50,4 +58,32 @@ final class PostNoLoopsTest {
         );
         Mockito.verify(post).send(Mockito.any(Envelope.class));
     }
+
+    /**
+     * PostNoLoops can build the message only once, down the chain.
+     * @throws Exception If fails
+     */
+    @Test
+    void buildsMessageOnlyOnce() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final Envelope origin = new Envelope.Mime()
+            .with(new StRecipient("jeff@example.com"))
+            .with(new StSender("Walter", "walter@example.com"))
+            .with(new StSubject("once"));
+        final AtomicInteger count = new AtomicInteger();
+        new PostNoLoops(
+            new PostNoDrafts(new Postman.Default(wire))
+        ).send(
+            () -> {
+                count.incrementAndGet();
+                return origin.unwrap();
+            }
+        );
+        Mockito.verify(transport).sendMessage(
+            Mockito.any(Message.class), Mockito.any(Address[].class)
+        );
+        MatcherAssert.assertThat(count.get(), Matchers.equalTo(1));
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Protocol;
+import com.jcabi.email.Token;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.stamp.StBcc;
+import com.jcabi.email.stamp.StCc;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import com.jcabi.email.wire.Smtp;
+import java.io.IOException;
+import java.net.ServerSocket;
+import javax.mail.Message;
+import javax.mail.internet.MimeMessage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link PostPlanned}.
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class PostPlannedTest {
+
+    /**
+     * PostPlanned can send to every recipient exactly once.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void sendsToEveryoneOnce() throws Exception {
+        final ServerSetup setup = new ServerSetup(
+            PostPlannedTest.port(), "localhost", ServerSetup.PROTOCOL_SMTP
+        );
+        setup.setServerStartupTimeout(3000);
+        final GreenMail server = new GreenMail(setup);
+        server.start();
+        server.setUser("from@jcabi.com", "user", "password");
+        try (PostPlanned postman = new PostPlanned(
+            new Smtp(
+                new Token("user", "password").access(
+                    new Protocol.Smtp(
+                        server.getSmtp().getBindTo(),
+                        server.getSmtp().getPort()
+                    )
+                )
+            ),
+            2
+        )) {
+            postman.send(
+                new Envelope.Mime()
+                    .with(new StSender("from <from@jcabi.com>"))
+                    .with(new StRecipient("to", "a@jcabi.com"))
+                    .with(new StCc("A@JCABI.COM"))
+                    .with(new StBcc("b@jcabi.com"))
+                    .with(new StBcc("c@jcabi.com"))
+                    .with(new StBcc("d@example.com"))
+                    .with(new StSubject("planned"))
+                    .with(new EnPlain("hello"))
+            );
+            final MimeMessage[] messages = server.getReceivedMessages();
+            MatcherAssert.assertThat(messages.length, Matchers.is(4));
+            for (final Message msg : messages) {
+                MatcherAssert.assertThat(
+                    msg.getSubject(), Matchers.equalTo("planned")
+                );
+                MatcherAssert.assertThat(
+                    msg.getHeader("Bcc"), Matchers.nullValue()
+                );
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Allocate free port.
+     * @return Found port
+     * @throws IOException In case of error
+     */
+    @SuppressWarnings("PMD.UnnecessaryLocalRule")
+    private static int port() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
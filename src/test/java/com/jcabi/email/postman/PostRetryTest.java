@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import java.io.IOException;
+import javax.mail.Address;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link PostRetry}.
+ * @since 2.0
+ */
+final class PostRetryTest {
+
+    /**
+     * PostRetry can try again after a temporary failure.
+     * @throws Exception If fails
+     */
+    @Test
+    void retriesTemporaryFailure() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        Mockito.doThrow(PostRetryTest.failure(421))
+            .doThrow(PostRetryTest.failure(451))
+            .doNothing()
+            .when(post).send(Mockito.any(Envelope.class));
+        new PostRetry(post, 5, 1L, 10L).send(Envelope.EMPTY);
+        Mockito.verify(post, Mockito.times(3))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostRetry can give up on a permanent failure right away.
+     * @throws Exception If fails
+     */
+    @Test
+    void doesntRetryPermanentFailure() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        Mockito.doThrow(PostRetryTest.failure(550))
+            .when(post).send(Mockito.any(Envelope.class));
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new PostRetry(post, 5, 1L, 10L).send(Envelope.EMPTY)
+        );
+        Mockito.verify(post, Mockito.times(1))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostRetry can stop after the last attempt.
+     * @throws Exception If fails
+     */
+    @Test
+    void stopsAfterLastAttempt() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        Mockito.doThrow(PostRetryTest.failure(452))
+            .when(post).send(Mockito.any(Envelope.class));
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new PostRetry(post, 3, 1L, 10L).send(Envelope.EMPTY)
+        );
+        Mockito.verify(post, Mockito.times(3))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * Make a failure with this code.
+     * @param code SMTP reply code
+     * @return Exception
+     */
+    private static IOException failure(final int code) {
+        return new IOException(
+            new SMTPSendFailedException(
+                "MAIL", code, String.format("%d failure", code), null,
+                new Address[0], new Address[0], new Address[0]
+            )
+        );
+    }
+}
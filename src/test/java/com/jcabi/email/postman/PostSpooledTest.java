@@ -0,0 +1,119 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.spool.Spool;
+import com.jcabi.email.stamp.StBcc;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Message;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link PostSpooled}.
+ * @since 2.0
+ */
+final class PostSpooledTest {
+
+    /**
+     * PostSpooled can send in background, with all recipients.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void sendsInBackground(@TempDir final Path dir) throws Exception {
+        final BlockingQueue<Message> sent = new LinkedBlockingQueue<>();
+        try (Spool spool = new Spool(dir);
+            PostSpooled postman = new PostSpooled(
+                env -> sent.add(env.unwrap()), spool
+            )) {
+            postman.send(PostSpooledTest.envelope());
+            MatcherAssert.assertThat(
+                sent.poll(1L, TimeUnit.MINUTES).getAllRecipients(),
+                Matchers.arrayWithSize(2)
+            );
+        }
+    }
+
+    /**
+     * PostSpooled can send what was left in the spool after restart.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void sendsLeftovers(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(dir)) {
+            final Postman never = env -> {
+                throw new ConnectException("relay is down");
+            };
+            try (PostSpooled postman = new PostSpooled(never, spool)) {
+                postman.send(PostSpooledTest.envelope());
+            }
+        }
+        final BlockingQueue<Message> sent = new LinkedBlockingQueue<>();
+        try (Spool spool = new Spool(dir);
+            PostSpooled postman = new PostSpooled(
+                env -> sent.add(env.unwrap()), spool
+            )) {
+            MatcherAssert.assertThat(
+                sent.poll(1L, TimeUnit.MINUTES).getSubject(),
+                Matchers.equalTo("spooled")
+            );
+        }
+    }
+
+    /**
+     * PostSpooled can skip a message that failed permanently.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void skipsPermanentFailures(@TempDir final Path dir) throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final BlockingQueue<Message> sent = new LinkedBlockingQueue<>();
+        try (Spool spool = new Spool(dir);
+            PostSpooled postman = new PostSpooled(
+                env -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IOException("broken");
+                    }
+                    sent.add(env.unwrap());
+                },
+                spool
+            )) {
+            postman.send(PostSpooledTest.envelope());
+            postman.send(PostSpooledTest.envelope());
+            sent.poll(1L, TimeUnit.MINUTES);
+            MatcherAssert.assertThat(attempts.get(), Matchers.equalTo(2));
+        }
+    }
+
+    /**
+     * Make an envelope.
+     * @return Envelope
+     */
+    private static Envelope envelope() {
+        return new Envelope.Mime()
+            .with(new StSender("from@example.com"))
+            .with(new StRecipient("to@example.com"))
+            .with(new StBcc("bcc@example.com"))
+            .with(new StSubject("spooled"))
+            .with(new EnPlain("hello"));
+    }
+}
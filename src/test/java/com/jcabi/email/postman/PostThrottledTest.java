@@ -0,0 +1,112 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link PostThrottled}.
+ * @since 2.0
+ */
+final class PostThrottledTest {
+
+    /**
+     * PostThrottled can reject when the bucket is empty.
+     * @throws Exception If fails
+     */
+    @Test
+    void rejectsWhenEmpty() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        final Postman throttled = new PostThrottled(
+            post, PostThrottled.REJECT, new Bucket(1.0d, 2)
+        );
+        throttled.send(Envelope.EMPTY);
+        throttled.send(Envelope.EMPTY);
+        Assertions.assertThrows(
+            PostThrottled.Rejected.class,
+            () -> throttled.send(Envelope.EMPTY)
+        );
+        Mockito.verify(post, Mockito.times(2))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostThrottled can limit each recipient domain separately.
+     * @throws Exception If fails
+     */
+    @Test
+    void limitsEachDomain() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        final Postman throttled = new PostThrottled(
+            post, PostThrottled.REJECT, new Bucket.Keyed(1.0d, 1)
+        );
+        throttled.send(PostThrottledTest.email("jeff@example.com"));
+        throttled.send(PostThrottledTest.email("jeff@example.org"));
+        Assertions.assertThrows(
+            PostThrottled.Rejected.class,
+            () -> throttled.send(PostThrottledTest.email("walter@EXAMPLE.com"))
+        );
+        Mockito.verify(post, Mockito.times(2))
+            .send(Mockito.any(Envelope.class));
+    }
+
+    /**
+     * PostThrottled can return tokens when it rejects.
+     * @throws Exception If fails
+     */
+    @Test
+    void returnsTokensOnRejection() throws Exception {
+        final Bucket global = new Bucket(1.0d, 1);
+        final Bucket.Keyed domains = new Bucket.Keyed(1.0d, 1);
+        domains.get("example.com").take();
+        Assertions.assertThrows(
+            PostThrottled.Rejected.class,
+            () -> new PostThrottled(
+                Mockito.mock(Postman.class), PostThrottled.REJECT,
+                domains, global
+            ).send(PostThrottledTest.email("jeff@example.com"))
+        );
+        MatcherAssert.assertThat(global.take(), Matchers.is(true));
+    }
+
+    /**
+     * PostThrottled can wait for the bucket to refill.
+     * @throws Exception If fails
+     */
+    @Test
+    void waitsForRefill() throws Exception {
+        final Postman post = Mockito.mock(Postman.class);
+        final Postman throttled = new PostThrottled(
+            post, PostThrottled.BLOCK, new Bucket(20.0d, 1)
+        );
+        final long start = System.nanoTime();
+        for (int idx = 0; idx < 3; ++idx) {
+            throttled.send(Envelope.EMPTY);
+        }
+        MatcherAssert.assertThat(
+            System.nanoTime() - start,
+            Matchers.greaterThanOrEqualTo(90_000_000L)
+        );
+    }
+
+    /**
+     * Make an envelope.
+     * @param rcpt Recipient
+     * @return Envelope
+     */
+    private static Envelope email(final String rcpt) {
+        return new Envelope.Mime()
+            .with(new StSender("from@example.net"))
+            .with(new StRecipient(rcpt));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.postman;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import java.io.IOException;
+import java.net.ConnectException;
+import javax.mail.Address;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.InternetAddress;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Reason}.
+ * @since 2.0
+ */
+final class ReasonTest {
+
+    /**
+     * Reason can find a 4xx code temporary.
+     */
+    @Test
+    void findsDeferralTemporary() {
+        MatcherAssert.assertThat(
+            new Reason(
+                new IOException(
+                    new SMTPSendFailedException(
+                        "DATA", 451, "451 try later", null,
+                        new Address[0], new Address[0], new Address[0]
+                    )
+                )
+            ).temporary(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Reason can find a rejected recipient permanent.
+     * @throws Exception If fails
+     */
+    @Test
+    void findsRejectionPermanent() throws Exception {
+        final SendFailedException error = new SendFailedException(
+            "Invalid Addresses"
+        );
+        error.setNextException(
+            new SMTPAddressFailedException(
+                new InternetAddress("nobody@example.com"),
+                "RCPT TO:<nobody@example.com>", 550, "550 no such user"
+            )
+        );
+        final Reason reason = new Reason(new IOException(error));
+        MatcherAssert.assertThat(reason.code(), Matchers.equalTo(550));
+        MatcherAssert.assertThat(reason.temporary(), Matchers.is(false));
+    }
+
+    /**
+     * Reason can find a connection failure temporary.
+     */
+    @Test
+    void findsConnectionFailureTemporary() {
+        MatcherAssert.assertThat(
+            new Reason(
+                new IOException(
+                    new MessagingException(
+                        "Couldn't connect to host",
+                        new ConnectException("Connection refused")
+                    )
+                )
+            ).temporary(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Reason can find an unknown failure permanent.
+     */
+    @Test
+    void findsUnknownFailurePermanent() {
+        MatcherAssert.assertThat(
+            new Reason(new IOException("broken")).temporary(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Reason can find a rate limit rejection temporary.
+     */
+    @Test
+    void findsRejectionByRateLimitTemporary() {
+        MatcherAssert.assertThat(
+            new Reason(new PostThrottled.Rejected("too fast")).temporary(),
+            Matchers.is(true)
+        );
+    }
+}
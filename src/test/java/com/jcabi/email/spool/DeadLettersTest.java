@@ -0,0 +1,174 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.spool;
+
+import com.google.common.base.Strings;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link DeadLetters}.
+ * @since 2.0
+ */
+final class DeadLettersTest {
+
+    /**
+     * DeadLetters can find letters by time, code and domain.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void findsLetters(@TempDir final Path dir) throws Exception {
+        try (DeadLetters letters = new DeadLetters(dir)) {
+            letters.store(DeadLettersTest.letter(100L, 550, "example.com"));
+            letters.store(DeadLettersTest.letter(200L, 421, "example.org"));
+            letters.store(DeadLettersTest.letter(300L, 550, "example.org"));
+            MatcherAssert.assertThat(
+                letters.find(new DeadLetters.Query().codes(550)),
+                Matchers.hasSize(2)
+            );
+            MatcherAssert.assertThat(
+                letters.find(new DeadLetters.Query().domain("EXAMPLE.org")),
+                Matchers.hasSize(2)
+            );
+            MatcherAssert.assertThat(
+                letters.find(
+                    new DeadLetters.Query()
+                        .since(Instant.ofEpochMilli(150L))
+                        .until(Instant.ofEpochMilli(300L))
+                ).get(0).code(),
+                Matchers.equalTo(421)
+            );
+        }
+    }
+
+    /**
+     * DeadLetters can keep letters after restart, in many segments.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void keepsLettersAfterRestart(@TempDir final Path dir) throws Exception {
+        try (DeadLetters letters = new DeadLetters(dir, 256L)) {
+            for (int idx = 0; idx < 50; ++idx) {
+                letters.store(DeadLettersTest.letter(idx, 550, "example.com"));
+            }
+        }
+        try (DeadLetters letters = new DeadLetters(dir, 256L)) {
+            MatcherAssert.assertThat(
+                letters.find(new DeadLetters.Query()),
+                Matchers.hasSize(50)
+            );
+        }
+    }
+
+    /**
+     * DeadLetters can replay letters only once.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void replaysOnce(@TempDir final Path dir) throws Exception {
+        try (DeadLetters letters = new DeadLetters(dir)) {
+            for (int idx = 0; idx < 20; ++idx) {
+                letters.store(DeadLettersTest.letter(idx, 421, "example.com"));
+            }
+            final Postman postman = Mockito.mock(Postman.class);
+            MatcherAssert.assertThat(
+                letters.replay(new DeadLetters.Query(), postman, 4),
+                Matchers.equalTo(20)
+            );
+            Mockito.verify(postman, Mockito.times(20))
+                .send(Mockito.any(Envelope.class));
+            MatcherAssert.assertThat(
+                letters.replay(new DeadLetters.Query(), postman, 4),
+                Matchers.equalTo(0)
+            );
+        }
+    }
+
+    /**
+     * DeadLetters can give the message back.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void returnsMessage(@TempDir final Path dir) throws Exception {
+        try (DeadLetters letters = new DeadLetters(dir)) {
+            letters.store(DeadLettersTest.letter(1L, 550, "example.com"));
+            MatcherAssert.assertThat(
+                letters.find(new DeadLetters.Query()).get(0)
+                    .message().getSubject(),
+                Matchers.equalTo("dead")
+            );
+        }
+    }
+
+    /**
+     * DeadLetters can keep a long reason and many domains.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void keepsLongReasonAndManyDomains(@TempDir final Path dir)
+        throws Exception {
+        final String reason = Strings.repeat("отказ ", 20_000);
+        final List<String> domains = new ArrayList<>(40_000);
+        for (int idx = 0; idx < 40_000; ++idx) {
+            domains.add(String.format("d%d.example.com", idx));
+        }
+        try (DeadLetters letters = new DeadLetters(dir)) {
+            letters.store(
+                new DeadLetters.Letter(
+                    Instant.ofEpochMilli(1L), 550, reason, domains,
+                    "Subject: long\r\n\r\nhi\r\n"
+                        .getBytes(StandardCharsets.US_ASCII)
+                )
+            );
+            final DeadLetters.Letter found =
+                letters.find(new DeadLetters.Query()).get(0);
+            MatcherAssert.assertThat(
+                found.reason(),
+                Matchers.equalTo(reason)
+            );
+            MatcherAssert.assertThat(
+                found.domains(),
+                Matchers.hasSize(40_000)
+            );
+        }
+    }
+
+    /**
+     * Make a letter.
+     * @param time Time, msec
+     * @param code SMTP code
+     * @param domain Recipient domain
+     * @return Letter
+     */
+    private static DeadLetters.Letter letter(final long time, final int code,
+        final String domain) {
+        return new DeadLetters.Letter(
+            Instant.ofEpochMilli(time), code, "failed",
+            Collections.singleton(domain),
+            String.format(
+                "To: jeff@%s\r\nSubject: dead\r\n\r\nhello\r\n", domain
+            ).getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+}
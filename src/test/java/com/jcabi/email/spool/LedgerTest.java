@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.spool;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Ledger}.
+ * @since 2.0
+ */
+final class LedgerTest {
+
+    /**
+     * Ledger can reserve a key only once.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void reservesOnce(@TempDir final Path dir) throws Exception {
+        try (Ledger ledger = new Ledger(dir.resolve("ledger"))) {
+            MatcherAssert.assertThat(
+                ledger.reserve("first"), Matchers.is(true)
+            );
+            MatcherAssert.assertThat(
+                ledger.reserve("first"), Matchers.is(false)
+            );
+            MatcherAssert.assertThat(
+                ledger.reserve("second"), Matchers.is(true)
+            );
+        }
+    }
+
+    /**
+     * Ledger can release a reserved key.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void releasesKey(@TempDir final Path dir) throws Exception {
+        try (Ledger ledger = new Ledger(dir.resolve("ledger"))) {
+            ledger.reserve("key");
+            ledger.release("key");
+            MatcherAssert.assertThat(ledger.reserve("key"), Matchers.is(true));
+        }
+    }
+
+    /**
+     * Ledger can remember confirmed keys after restart.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void remembersKeys(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("ledger");
+        try (Ledger ledger = new Ledger(file)) {
+            ledger.reserve("sent");
+            ledger.confirm("sent");
+            ledger.reserve("pending");
+        }
+        try (Ledger ledger = new Ledger(file)) {
+            MatcherAssert.assertThat(
+                ledger.contains("sent"), Matchers.is(true)
+            );
+            MatcherAssert.assertThat(
+                ledger.contains("pending"), Matchers.is(false)
+            );
+        }
+    }
+
+    /**
+     * Ledger can forget expired keys.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void forgetsExpiredKeys(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("ledger");
+        final Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        try (Ledger ledger = new Ledger(
+            file, 1000L, Clock.fixed(start, ZoneOffset.UTC)
+        )) {
+            ledger.reserve("old");
+            ledger.confirm("old");
+        }
+        try (Ledger ledger = new Ledger(
+            file, 1000L, Clock.fixed(start.plusSeconds(2L), ZoneOffset.UTC)
+        )) {
+            MatcherAssert.assertThat(
+                ledger.reserve("old"), Matchers.is(true)
+            );
+        }
+    }
+
+    /**
+     * Ledger can compact its file.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void compactsFile(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("ledger");
+        try (Ledger ledger = new Ledger(file)) {
+            for (int idx = 0; idx < 5000; ++idx) {
+                ledger.confirm(String.format("key-%d", idx % 10));
+            }
+        }
+        MatcherAssert.assertThat(
+            Files.size(file),
+            Matchers.lessThan(5000L * 24L)
+        );
+    }
+}
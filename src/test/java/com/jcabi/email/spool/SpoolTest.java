@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.spool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Spool}.
+ * @since 2.0
+ */
+final class SpoolTest {
+
+    /**
+     * Spool can give records back in order.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void readsInOrder(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(dir)) {
+            spool.append(SpoolTest.bytes("first"));
+            spool.append(SpoolTest.bytes("second"));
+            MatcherAssert.assertThat(
+                new String(spool.next().bytes(), StandardCharsets.UTF_8),
+                Matchers.equalTo("first")
+            );
+            MatcherAssert.assertThat(
+                new String(spool.next().bytes(), StandardCharsets.UTF_8),
+                Matchers.equalTo("second")
+            );
+        }
+    }
+
+    /**
+     * Spool can continue from the checkpoint after restart.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void continuesFromCheckpoint(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(dir)) {
+            spool.append(SpoolTest.bytes("done"));
+            spool.append(SpoolTest.bytes("pending"));
+            spool.ack(spool.next());
+        }
+        try (Spool spool = new Spool(dir)) {
+            MatcherAssert.assertThat(
+                new String(spool.next().bytes(), StandardCharsets.UTF_8),
+                Matchers.equalTo("pending")
+            );
+        }
+    }
+
+    /**
+     * Spool can roll segments and delete the ones read.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void deletesSegmentsRead(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(dir, 1024)) {
+            for (int idx = 0; idx < 100; ++idx) {
+                spool.append(new byte[100]);
+            }
+            Spool.Entry entry = spool.next();
+            for (int idx = 1; idx < 100; ++idx) {
+                entry = spool.next();
+            }
+            spool.ack(entry);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            MatcherAssert.assertThat(
+                files.filter(file -> file.toString().endsWith(".seg")).count(),
+                Matchers.equalTo(1L)
+            );
+        }
+    }
+
+    /**
+     * Spool can erase a broken record at the end.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void erasesBrokenTail(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(dir)) {
+            spool.append(SpoolTest.bytes("good"));
+            spool.append(SpoolTest.bytes("broken"));
+        }
+        final Path file = dir.resolve(String.format("%020d.seg", 0));
+        final byte[] content = Files.readAllBytes(file);
+        content[8 + 4 + 8] = (byte) 'X';
+        Files.write(file, content);
+        try (Spool spool = new Spool(dir)) {
+            spool.next();
+            spool.append(SpoolTest.bytes("after"));
+            MatcherAssert.assertThat(
+                new String(spool.next().bytes(), StandardCharsets.UTF_8),
+                Matchers.equalTo("after")
+            );
+        }
+    }
+
+    /**
+     * Spool can take records from many threads.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void appendsConcurrently(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(dir, 64 * 1024)) {
+            final ExecutorService service = Executors.newFixedThreadPool(16);
+            for (int thread = 0; thread < 16; ++thread) {
+                service.submit(
+                    () -> {
+                        for (int idx = 0; idx < 100; ++idx) {
+                            spool.append(new byte[200]);
+                        }
+                        return null;
+                    }
+                );
+            }
+            service.shutdown();
+            service.awaitTermination(1L, TimeUnit.MINUTES);
+            int total = 0;
+            for (int idx = 0; idx < 1600; ++idx) {
+                total += spool.next().bytes().length;
+            }
+            MatcherAssert.assertThat(total, Matchers.equalTo(1600 * 200));
+        }
+    }
+
+    /**
+     * Spool can fail the append if the record can't be forced to disk.
+     * @param dir Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    void failsWhenForceFails(@TempDir final Path dir) throws Exception {
+        try (Spool spool = new Spool(
+            dir, 1024,
+            buf -> {
+                throw new IOException("disk is gone");
+            }
+        )) {
+            Assertions.assertThrows(
+                IOException.class,
+                () -> spool.append(SpoolTest.bytes("lost"))
+            );
+            Assertions.assertThrows(
+                IOException.class,
+                () -> spool.append(SpoolTest.bytes("after"))
+            );
+        }
+    }
+
+    /**
+     * Text to bytes.
+     * @param text Text
+     * @return Bytes
+     */
+    private static byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
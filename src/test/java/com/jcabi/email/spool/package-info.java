@@ -0,0 +1,10 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+
+/**
+ * Storage of emails on local disk, tests.
+ * @since 2.0
+ */
+package com.jcabi.email.spool;
@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.stamp;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Addresses}.
+ * @since 2.0
+ */
+final class AddressesTest {
+
+    /**
+     * Addresses can parse an address only once.
+     * @throws Exception If fails
+     */
+    @Test
+    void sharesParsedAddress() throws Exception {
+        final String encoded = Addresses.encoded(
+            "Walter Sobchak <walter@example.com>"
+        );
+        MatcherAssert.assertThat(
+            Addresses.parsed(encoded),
+            Matchers.sameInstance(Addresses.parsed(encoded))
+        );
+    }
+
+    /**
+     * Addresses can encode the name.
+     * @throws Exception If fails
+     */
+    @Test
+    void encodesName() throws Exception {
+        MatcherAssert.assertThat(
+            Addresses.encoded("=?UTF-8?Q?Jeff?= <jeff@example.com>"),
+            Matchers.equalTo("=?UTF-8?Q?Jeff?= <jeff@example.com>")
+        );
+    }
+
+    /**
+     * Addresses can reject invalid addresses.
+     */
+    @Test
+    void rejectsInvalidAddresses() {
+        for (final String addr : new String[] {"", "a@b.com, c@d.com", "<"}) {
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> Addresses.encoded(addr)
+            );
+        }
+    }
+}
@@ -13,6 +13,7 @@ import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeUtility;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -79,6 +80,17 @@ final class StRecipientTest {
         );
     }
 
+    /**
+     * StRecipient can reject an invalid address when it's made.
+     */
+    @Test
+    void rejectsInvalidAddress() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new StRecipient("jeff@example.com, walter@example.com")
+        );
+    }
+
     /**
      * Encode text into MIME with encoding.
      * @param text Text
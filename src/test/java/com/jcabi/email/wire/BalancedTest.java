@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.email.Wire;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.Transport;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Balanced}.
+ * @since 2.0
+ */
+final class BalancedTest {
+
+    /**
+     * Balanced can take turns among wires.
+     * @throws Exception If fails
+     */
+    @Test
+    void takesTurnsAmongWires() throws Exception {
+        final Wire first = BalancedTest.wire();
+        final Wire second = BalancedTest.wire();
+        final Wire wire = new Balanced(first, second);
+        for (int idx = 0; idx < 4; ++idx) {
+            wire.connect().close();
+        }
+        Mockito.verify(first, Mockito.times(2)).connect();
+        Mockito.verify(second, Mockito.times(2)).connect();
+    }
+
+    /**
+     * Balanced can pick the wire with less transports open.
+     * @throws Exception If fails
+     */
+    @Test
+    void picksLeastBusyWire() throws Exception {
+        final AtomicInteger left = new AtomicInteger();
+        final AtomicInteger right = new AtomicInteger();
+        final Wire wire = new Balanced(
+            new Balanced.LeastBusy(),
+            BalancedTest.counting(left),
+            BalancedTest.counting(right)
+        );
+        final Transport open = wire.connect();
+        wire.connect().close();
+        wire.connect().close();
+        open.close();
+        MatcherAssert.assertThat(
+            left.get() * right.get(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * Balanced can move traffic away from a relay that fails.
+     * @throws Exception If fails
+     */
+    @Test
+    void avoidsFailingRelay() throws Exception {
+        final AtomicInteger broken = new AtomicInteger();
+        final AtomicInteger healthy = new AtomicInteger();
+        final Wire wire = new Balanced(
+            new Balanced.Fastest(),
+            () -> {
+                broken.incrementAndGet();
+                throw new IOException("connection refused");
+            },
+            BalancedTest.counting(healthy)
+        );
+        for (int idx = 0; idx < 100; ++idx) {
+            try {
+                final Transport transport = wire.connect();
+                transport.sendMessage(
+                    Mockito.mock(Message.class), new Address[0]
+                );
+                transport.close();
+            } catch (final IOException ex) {
+                continue;
+            }
+        }
+        MatcherAssert.assertThat(
+            healthy.get(),
+            Matchers.greaterThan(broken.get() * 10)
+        );
+    }
+
+    /**
+     * Balanced can spread the first connects among untried relays.
+     * @throws Exception If fails
+     */
+    @Test
+    void spreadsConnectsAtColdStart() throws Exception {
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        final AtomicInteger third = new AtomicInteger();
+        final Wire wire = new Balanced(
+            new Balanced.Fastest(),
+            BalancedTest.counting(first),
+            BalancedTest.counting(second),
+            BalancedTest.counting(third)
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            wire.connect();
+        }
+        MatcherAssert.assertThat(
+            new int[] {first.get(), second.get(), third.get()},
+            Matchers.equalTo(new int[] {1, 1, 1})
+        );
+    }
+
+    /**
+     * Balanced can measure every send, not the time since connect.
+     * @throws Exception If fails
+     */
+    @Test
+    void measuresEachSend() throws Exception {
+        final Balanced.Relay relay = new Balanced.Relay(
+            BalancedTest.wire()
+        );
+        final Transport transport = relay.connect();
+        for (int idx = 0; idx < 3; ++idx) {
+            TimeUnit.MILLISECONDS.sleep(100L);
+            transport.sendMessage(
+                Mockito.mock(Message.class), new Address[0]
+            );
+        }
+        transport.close();
+        MatcherAssert.assertThat(
+            relay.latency(),
+            Matchers.lessThan(TimeUnit.MILLISECONDS.toNanos(50L))
+        );
+    }
+
+    /**
+     * Make a wire that counts connections.
+     * @param counter Counter
+     * @return Wire with mocked transport
+     */
+    private static Wire counting(final AtomicInteger counter) {
+        return () -> {
+            counter.incrementAndGet();
+            return Mockito.mock(Transport.class);
+        };
+    }
+
+    /**
+     * Make a wire.
+     * @return Wire with mocked transport
+     * @throws Exception If fails
+     */
+    private static Wire wire() throws Exception {
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(Mockito.mock(Transport.class)).when(wire).connect();
+        return wire;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.jcabi.email.Wire;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Transport;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Failover}.
+ * @since 2.0
+ */
+final class FailoverTest {
+
+    /**
+     * Failover can stop trying a wire that is down.
+     * @throws Exception If fails
+     */
+    @Test
+    void skipsWireThatIsDown() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Wire down = () -> {
+            attempts.incrementAndGet();
+            throw new IOException("connection refused");
+        };
+        final Wire up = Mockito.mock(Wire.class);
+        Mockito.doReturn(Mockito.mock(Transport.class)).when(up).connect();
+        try (Failover wire = new Failover(
+            2, 60_000L, Arrays.asList(down, up)
+        )) {
+            for (int idx = 0; idx < 5; ++idx) {
+                wire.connect().close();
+            }
+        }
+        MatcherAssert.assertThat(attempts.get(), Matchers.equalTo(2));
+        Mockito.verify(up, Mockito.times(5)).connect();
+    }
+
+    /**
+     * Failover can bring a wire back after a successful probe.
+     * @throws Exception If fails
+     */
+    @Test
+    void closesCircuitAfterProbe() throws Exception {
+        final AtomicBoolean broken = new AtomicBoolean(true);
+        final AtomicInteger sent = new AtomicInteger();
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        final Wire flaky = () -> {
+            if (broken.get()) {
+                throw new IOException("timeout");
+            }
+            sent.incrementAndGet();
+            return transport;
+        };
+        try (Failover wire = new Failover(1, 10L, Arrays.asList(flaky))) {
+            Assertions.assertThrows(IOException.class, wire::connect);
+            broken.set(false);
+            Transport back = null;
+            while (back == null) {
+                try {
+                    back = wire.connect();
+                } catch (final IOException ex) {
+                    TimeUnit.MILLISECONDS.sleep(10L);
+                }
+            }
+            back.close();
+        }
+        MatcherAssert.assertThat(sent.get(), Matchers.greaterThan(1));
+    }
+}
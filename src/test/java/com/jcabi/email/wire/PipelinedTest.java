@@ -0,0 +1,333 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.Protocol;
+import com.jcabi.email.Token;
+import com.jcabi.email.enclosure.EnHtml;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.stamp.StBcc;
+import com.jcabi.email.stamp.StCc;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Pipelined}.
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class PipelinedTest {
+
+    /**
+     * Pipelined wire can send email to SMTP server.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void sendsEmailToSmtpServer() throws Exception {
+        final ServerSetup setup = new ServerSetup(
+            PipelinedTest.port(), "localhost", ServerSetup.PROTOCOL_SMTP
+        );
+        setup.setServerStartupTimeout(3000);
+        final GreenMail server = new GreenMail(setup);
+        server.start();
+        server.setUser("test-from@jcabi.com", "user", "password");
+        try {
+            new Postman.Default(
+                new Pipelined(
+                    new Token("user", "password").access(
+                        new Protocol.Smtp(
+                            server.getSmtp().getBindTo(),
+                            server.getSmtp().getPort()
+                        )
+                    )
+                )
+            ).send(
+                new Envelope.Safe(
+                    new Envelope.Mime()
+                        .with(new StSender("from <test-from@jcabi.com>"))
+                        .with(new StRecipient("to", "test-to@jcabi.com"))
+                        .with(new StCc(new InternetAddress("cc <c@jcabi.com>")))
+                        .with(new StBcc("bcc <bcc@jcabi.com>"))
+                        .with(new StSubject("test subject: test me"))
+                        .with(new EnPlain("hello"))
+                        .with(new EnHtml("<p>how are you?</p>"))
+                )
+            );
+            final MimeMessage[] messages = server.getReceivedMessages();
+            MatcherAssert.assertThat(
+                messages.length,
+                Matchers.is(3)
+            );
+            for (final Message msg : messages) {
+                MatcherAssert.assertThat(
+                    msg.getFrom()[0].toString(),
+                    Matchers.containsString("<test-from@jcabi.com>")
+                );
+                MatcherAssert.assertThat(
+                    msg.getSubject(),
+                    Matchers.containsString("test me")
+                );
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Pipelined wire can drop the connection if the message fails
+     * in the middle of DATA.
+     * @throws Exception If fails
+     */
+    @Test
+    void dropsConnectionWhenMessageFails() throws Exception {
+        final ServerSetup setup = new ServerSetup(
+            PipelinedTest.port(), "localhost", ServerSetup.PROTOCOL_SMTP
+        );
+        setup.setServerStartupTimeout(3000);
+        final GreenMail server = new GreenMail(setup);
+        server.start();
+        server.setUser("test-from@jcabi.com", "user", "password");
+        try {
+            final Transport transport = new Pipelined(
+                new Token("user", "password").access(
+                    new Protocol.Smtp(
+                        server.getSmtp().getBindTo(),
+                        server.getSmtp().getPort()
+                    )
+                )
+            ).connect();
+            final MimeMessage msg = new MimeMessage(
+                Session.getInstance(new Properties())
+            ) {
+                @Override
+                public void writeTo(final OutputStream out,
+                    final String[] ignore) throws MessagingException {
+                    throw new MessagingException("broken body");
+                }
+            };
+            msg.setFrom(new InternetAddress("test-from@jcabi.com"));
+            Assertions.assertThrows(
+                MessagingException.class,
+                () -> transport.sendMessage(
+                    msg,
+                    new Address[] {new InternetAddress("to@jcabi.com")}
+                )
+            );
+            MatcherAssert.assertThat(
+                transport.isConnected(),
+                Matchers.is(false)
+            );
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Pipelined wire can reset the transaction when DATA is rejected.
+     * @throws Exception If fails
+     */
+    @Test
+    void resetsWhenDataIsRejected() throws Exception {
+        final List<String> commands = new CopyOnWriteArrayList<>();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            PipelinedTest.serve(
+                socket, commands,
+                cmd -> {
+                    final String reply;
+                    if (cmd.startsWith("DATA")) {
+                        reply = "554 no more messages today";
+                    } else {
+                        reply = "250 ok";
+                    }
+                    return reply;
+                }
+            );
+            final Transport transport = PipelinedTest.transport(
+                socket, false
+            );
+            transport.connect();
+            final MimeMessage msg = new MimeMessage(
+                Session.getInstance(new Properties())
+            );
+            msg.setFrom(new InternetAddress("from@jcabi.com"));
+            msg.setText("hello");
+            Assertions.assertThrows(
+                MessagingException.class,
+                () -> transport.sendMessage(
+                    msg,
+                    new Address[] {new InternetAddress("to@jcabi.com")}
+                )
+            );
+            MatcherAssert.assertThat(
+                commands,
+                Matchers.hasItem("RSET")
+            );
+        }
+    }
+
+    /**
+     * Pipelined wire can stop AUTH LOGIN when the user is rejected.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void stopsLoginWhenUserIsRejected() throws Exception {
+        final List<String> commands = new CopyOnWriteArrayList<>();
+        final String user = Base64.getEncoder().encodeToString(
+            "jeff".getBytes(StandardCharsets.UTF_8)
+        );
+        try (ServerSocket socket = new ServerSocket(0)) {
+            PipelinedTest.serve(
+                socket, commands,
+                cmd -> {
+                    final String reply;
+                    if (cmd.startsWith("EHLO")) {
+                        reply = "250-localhost\r\n250 AUTH LOGIN";
+                    } else if (cmd.startsWith("AUTH")) {
+                        reply = "334 VXNlcm5hbWU6";
+                    } else if (cmd.equals(user)) {
+                        reply = "535 no such user";
+                    } else {
+                        reply = "334 UGFzc3dvcmQ6";
+                    }
+                    return reply;
+                }
+            );
+            final Transport transport = PipelinedTest.transport(
+                socket, true
+            );
+            final AuthenticationFailedException ex = Assertions.assertThrows(
+                AuthenticationFailedException.class,
+                () -> transport.connect(
+                    "localhost", socket.getLocalPort(), "jeff", "secret"
+                )
+            );
+            MatcherAssert.assertThat(
+                ex.getMessage(),
+                Matchers.containsString("no such user")
+            );
+            MatcherAssert.assertThat(
+                commands,
+                Matchers.not(
+                    Matchers.hasItem(
+                        Base64.getEncoder().encodeToString(
+                            "secret".getBytes(StandardCharsets.UTF_8)
+                        )
+                    )
+                )
+            );
+        }
+    }
+
+    /**
+     * Make a transport to the server on this socket.
+     * @param socket The socket
+     * @param auth Authenticate?
+     * @return Transport, not connected
+     */
+    private static Transport transport(final ServerSocket socket,
+        final boolean auth) {
+        final Properties props = new Properties();
+        props.setProperty("mail.smtp.host", "localhost");
+        props.setProperty(
+            "mail.smtp.port", Integer.toString(socket.getLocalPort())
+        );
+        props.setProperty("mail.smtp.auth", Boolean.toString(auth));
+        return new PipelinedTransport(
+            Session.getInstance(props),
+            new URLName("smtp", null, -1, null, null, null)
+        );
+    }
+
+    /**
+     * Serve one SMTP session in background, with scripted replies.
+     * @param socket Server socket
+     * @param commands Commands received and failures, to add to
+     * @param replies Reply to each command, except QUIT
+     */
+    private static void serve(final ServerSocket socket,
+        final List<String> commands, final Function<String, String> replies) {
+        final Thread thread = new Thread(
+            () -> {
+                try (Socket client = socket.accept();
+                    BufferedReader in = new BufferedReader(
+                        new InputStreamReader(
+                            client.getInputStream(), StandardCharsets.US_ASCII
+                        )
+                    );
+                    Writer out = new OutputStreamWriter(
+                        client.getOutputStream(), StandardCharsets.US_ASCII
+                    )) {
+                    out.write("220 localhost ESMTP\r\n");
+                    out.flush();
+                    while (true) {
+                        final String cmd = in.readLine();
+                        if (cmd == null) {
+                            break;
+                        }
+                        commands.add(cmd);
+                        if ("QUIT".equals(cmd)) {
+                            out.write("221 bye\r\n");
+                            out.flush();
+                            break;
+                        }
+                        out.write(replies.apply(cmd));
+                        out.write("\r\n");
+                        out.flush();
+                    }
+                } catch (final IOException ex) {
+                    commands.add(String.format("! %s", ex.getMessage()));
+                }
+            }
+        );
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Allocate free port.
+     * @return Found port
+     * @throws IOException In case of error
+     */
+    @SuppressWarnings("PMD.UnnecessaryLocalRule")
+    private static int port() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2014-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.email.wire;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.jcabi.email.Envelope;
+import com.jcabi.email.Postman;
+import com.jcabi.email.Protocol;
+import com.jcabi.email.Token;
+import com.jcabi.email.Wire;
+import com.jcabi.email.enclosure.EnPlain;
+import com.jcabi.email.stamp.StRecipient;
+import com.jcabi.email.stamp.StSender;
+import com.jcabi.email.stamp.StSubject;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.Transport;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Pooled}.
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class PooledTest {
+
+    /**
+     * Pooled can reuse a transport after it's closed.
+     * @throws Exception If fails
+     */
+    @Test
+    void reusesClosedTransport() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final Pooled pooled = new Pooled(wire);
+        pooled.connect().close();
+        pooled.connect().close();
+        Mockito.verify(wire, Mockito.times(1)).connect();
+        Mockito.verify(transport, Mockito.never()).close();
+    }
+
+    /**
+     * Pooled can close idle transports when closed.
+     * @throws Exception If fails
+     */
+    @Test
+    void closesIdleTransports() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final Pooled pooled = new Pooled(wire);
+        pooled.connect().close();
+        pooled.close();
+        Mockito.verify(transport).close();
+    }
+
+    /**
+     * Pooled can close a transport given back after the pool is closed.
+     * @throws Exception If fails
+     */
+    @Test
+    void closesTransportReturnedAfterClose() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final Pooled pooled = new Pooled(wire);
+        final Transport leased = pooled.connect();
+        pooled.close();
+        leased.close();
+        Mockito.verify(transport).close();
+    }
+
+    /**
+     * Pooled can refuse to send through a transport after it's closed.
+     * @throws Exception If fails
+     */
+    @Test
+    void refusesToSendAfterClose() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final Transport leased = new Pooled(wire).connect();
+        leased.close();
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> leased.sendMessage(
+                Mockito.mock(Message.class), new Address[0]
+            )
+        );
+    }
+
+    /**
+     * Pooled can replace a transport that was idle for too long.
+     * @throws Exception If fails
+     */
+    @Test
+    void replacesExpiredTransport() throws Exception {
+        final Transport transport = Mockito.mock(Transport.class);
+        Mockito.doReturn(true).when(transport).isConnected();
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.doReturn(transport).when(wire).connect();
+        final Pooled pooled = new Pooled(wire, 1, -1L);
+        pooled.connect().close();
+        pooled.connect().close();
+        Mockito.verify(wire, Mockito.times(2)).connect();
+    }
+
+    /**
+     * Pooled can send many emails through one SMTP connection.
+     * @throws Exception If fails
+     */
+    @Test
+    @SuppressWarnings("PMD.UnitTestContainsTooManyAsserts")
+    void sendsManyEmailsToSmtpServer() throws Exception {
+        final ServerSetup setup = new ServerSetup(
+            PooledTest.port(), "localhost", ServerSetup.PROTOCOL_SMTP
+        );
+        setup.setServerStartupTimeout(3000);
+        final GreenMail server = new GreenMail(setup);
+        server.start();
+        server.setUser("test-from@jcabi.com", "user", "password");
+        final Wire smtp = new Smtp(
+            new Token("user", "password").access(
+                new Protocol.Smtp(
+                    server.getSmtp().getBindTo(),
+                    server.getSmtp().getPort()
+                )
+            )
+        );
+        final AtomicInteger connects = new AtomicInteger();
+        try (Pooled wire = new Pooled(
+            () -> {
+                connects.incrementAndGet();
+                return smtp.connect();
+            }
+        )) {
+            final Postman postman = new Postman.Default(wire);
+            for (int idx = 0; idx < 3; ++idx) {
+                postman.send(
+                    new Envelope.Mime()
+                        .with(new StSender("from <test-from@jcabi.com>"))
+                        .with(new StRecipient("to", "test-to@jcabi.com"))
+                        .with(new StSubject("pooled"))
+                        .with(new EnPlain("hello"))
+                );
+            }
+            MatcherAssert.assertThat(
+                server.getReceivedMessages().length,
+                Matchers.is(3)
+            );
+            MatcherAssert.assertThat(connects.get(), Matchers.is(1));
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Allocate free port.
+     * @return Found port
+     * @throws IOException In case of error
+     */
+    @SuppressWarnings("PMD.UnnecessaryLocalRule")
+    private static int port() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}